@@ -0,0 +1,149 @@
+/* (c) 2026 Alejandro Lopez Monzon <alejandro@kreaker.dev> for Kreaker Developments */
+package dev.kreaker.cnc.benchmark;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import dev.kreaker.cnc.domain.entity.RvCatalogos;
+import dev.kreaker.cnc.domain.model.CatalogCriteria;
+import dev.kreaker.cnc.domain.model.CatalogSearchMode;
+import dev.kreaker.cnc.domain.repository.AlCatalogTargetsRepository;
+import dev.kreaker.cnc.domain.repository.AlCatalogTwostepRepository;
+import dev.kreaker.cnc.domain.repository.RvCatalogosRepository;
+import dev.kreaker.cnc.domain.repository.RvRproCatalogoRepository;
+import dev.kreaker.cnc.service.CatalogSnapshot;
+import dev.kreaker.cnc.service.DatabaseAdmission;
+import dev.kreaker.cnc.service.ParallelFetch;
+import dev.kreaker.cnc.service.dto.CatalogItemDTO;
+import dev.kreaker.cnc.service.query.QueryBudgetMonitor;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * The catalog list pipeline on the in-memory snapshot: the merge of both catalogs with the
+ * conversion and target overlays, DTO mapping, search filtering and the catalog order sort
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class CatalogSnapshotBenchmark {
+
+   private static final PageRequest FIRST_PAGE = PageRequest.of(0, 50);
+   private static final CatalogCriteria ALL = criteria(null);
+   private static final CatalogCriteria MODULO =
+            new CatalogCriteria("MOD07", null, null, null, null, null);
+
+   @Param({"10000", "100000", "1000000"})
+   private int rows;
+
+   @Param({"true", "false"})
+   private boolean searchIndex;
+
+   private CatalogSnapshot snapshot;
+   private RvCatalogos changed;
+
+   @Setup(Level.Trial)
+   public void setUp() {
+      SyntheticCatalog catalog = new SyntheticCatalog(rows);
+      snapshot = new CatalogSnapshot(
+               SyntheticCatalog.repository(RvCatalogosRepository.class,
+                        Map.of("findAllViews", catalog.legacy)),
+               SyntheticCatalog.repository(RvRproCatalogoRepository.class,
+                        Map.of("findAllViews", catalog.rpro)),
+               SyntheticCatalog.repository(AlCatalogTwostepRepository.class,
+                        Map.of("findAll", catalog.conversions)),
+               SyntheticCatalog.repository(AlCatalogTargetsRepository.class,
+                        Map.of("findAll", catalog.targets)),
+               new ParallelFetch(new DatabaseAdmission(new SimpleMeterRegistry()),
+                        new QueryBudgetMonitor()));
+      SyntheticCatalog.inject(snapshot, "enabled", true);
+      SyntheticCatalog.inject(snapshot, "fullReloadInterval", Duration.ofHours(1));
+      SyntheticCatalog.inject(snapshot, "searchMode", CatalogSearchMode.CONTAINS);
+      SyntheticCatalog.inject(snapshot, "searchIndexEnabled", searchIndex);
+      snapshot.reload();
+
+      changed = new RvCatalogos();
+      changed.setId(-1L);
+      changed.setSbsNo(1);
+      changed.setModulo("MOD00");
+      changed.setCampo("CAMPO000");
+      changed.setValor("BENCH");
+      changed.setDescripcion("benchmark row");
+      changed.setActivo(1);
+   }
+
+   /**
+    * Full load: both catalogs, conversions and targets merged into a fresh snapshot
+    */
+   @Benchmark
+   public CatalogSnapshot reload() {
+      snapshot.reload();
+      return snapshot;
+   }
+
+   @Benchmark
+   public Page<CatalogItemDTO> firstPage() {
+      return snapshot.findPage(ALL, FIRST_PAGE);
+   }
+
+   /**
+    * Every active row mapped to a DTO, as the unpaged list and the exports use them
+    */
+   @Benchmark
+   public List<CatalogItemDTO> findAll() {
+      return snapshot.findAll(ALL);
+   }
+
+   @Benchmark
+   public Page<CatalogItemDTO> filterByModulo() {
+      return snapshot.findPage(MODULO, FIRST_PAGE);
+   }
+
+   /**
+    * Selective term, answered from the trigram index when it is enabled
+    */
+   @Benchmark
+   public Page<CatalogItemDTO> searchSelective() {
+      return snapshot.findPage(criteria("item 4242"), FIRST_PAGE);
+   }
+
+   /**
+    * Term matching a large share of the rows, so ranking and sorting dominate
+    */
+   @Benchmark
+   public Page<CatalogItemDTO> searchBroad() {
+      return snapshot.findPage(criteria("bravo"), FIRST_PAGE);
+   }
+
+   /**
+    * Two-character term, below the trigram length, so every row is scanned
+    */
+   @Benchmark
+   public Page<CatalogItemDTO> searchShort() {
+      return snapshot.findPage(criteria("ec"), FIRST_PAGE);
+   }
+
+   @Benchmark
+   public List<String> suggest() {
+      return snapshot.suggest(criteria("del"), 10);
+   }
+
+   /**
+    * A single write invalidates the sorted view, so the next page pays the full catalog sort
+    */
+   @Benchmark
+   public Page<CatalogItemDTO> firstPageAfterWrite() {
+      snapshot.putLegacy(changed);
+      return snapshot.findPage(ALL, FIRST_PAGE);
+   }
+
+   private static CatalogCriteria criteria(String searchTerm) {
+      return new CatalogCriteria(null, null, null, null, null, searchTerm);
+   }
+}
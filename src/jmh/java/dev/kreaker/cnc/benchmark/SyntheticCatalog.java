@@ -0,0 +1,114 @@
+/* (c) 2026 Alejandro Lopez Monzon <alejandro@kreaker.dev> for Kreaker Developments */
+package dev.kreaker.cnc.benchmark;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import org.springframework.util.ReflectionUtils;
+
+import dev.kreaker.cnc.domain.entity.AlCatalogTargets;
+import dev.kreaker.cnc.domain.entity.AlCatalogTwostep;
+import dev.kreaker.cnc.domain.entity.AlCatalogTwostepId;
+import dev.kreaker.cnc.domain.model.CatalogRowView;
+import dev.kreaker.cnc.domain.model.CatalogSource;
+import dev.kreaker.cnc.service.dto.CatalogItemDTO;
+
+/**
+ * Deterministic synthetic catalog: 30% RV_CATALOGOS and 70% RV_RPRO_CATALOGO rows spread over 20
+ * modulos and 50 campos, with conversions for 20% of the rows and targets for 5%
+ */
+final class SyntheticCatalog {
+
+   static final String[] WORDS = {"alpha", "bravo", "charlie", "delta", "echo", "foxtrot", "golf",
+            "hotel", "india", "juliet", "kilo", "lima", "mike", "november", "oscar", "papa",
+            "quebec", "romeo", "sierra", "tango", "uniform", "victor", "whiskey", "xray", "yankee",
+            "zulu"};
+
+   private static final LocalDateTime CREATED = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+   final List<CatalogRowView> legacy = new ArrayList<>();
+   final List<CatalogRowView> rpro = new ArrayList<>();
+   final List<AlCatalogTwostep> conversions = new ArrayList<>();
+   final List<AlCatalogTargets> targets = new ArrayList<>();
+
+   SyntheticCatalog(int rows) {
+      SplittableRandom random = new SplittableRandom(42);
+      for (int i = 0; i < rows; i++) {
+         String modulo = "MOD" + String.format("%02d", random.nextInt(20));
+         String campo = "CAMPO" + String.format("%03d", random.nextInt(50));
+         String valor = "V" + i;
+         int sbsNo = 1 + random.nextInt(2);
+         String descripcion = WORDS[random.nextInt(WORDS.length)] + " "
+                  + WORDS[random.nextInt(WORDS.length)] + " item " + i;
+         int activo = random.nextInt(10) == 0 ? 0 : 1;
+
+         if (random.nextInt(10) < 3) {
+            legacy.add(new CatalogRowView((long) i, sbsNo, modulo, campo, valor, descripcion,
+                     i % 100, activo, CREATED, CREATED));
+         } else {
+            rpro.add(new CatalogRowView((long) i, sbsNo, modulo, campo, valor, descripcion,
+                     i % 100, activo, null, CREATED, CREATED));
+         }
+
+         AlCatalogTwostepId key = new AlCatalogTwostepId(modulo, campo, valor, sbsNo);
+         if (random.nextInt(5) == 0) {
+            conversions.add(new AlCatalogTwostep(key, "DOM" + random.nextInt(10), 1, CREATED,
+                     "bench", CREATED, "bench"));
+         }
+         if (random.nextInt(20) == 0) {
+            targets.add(new AlCatalogTargets(key, "SRC_TABLE", "SRC_FIELD", CREATED, CREATED));
+         }
+      }
+   }
+
+   /**
+    * The rows as the unified catalog DTOs the export writes
+    */
+   List<CatalogItemDTO> items() {
+      List<CatalogItemDTO> items = new ArrayList<>(legacy.size() + rpro.size());
+      legacy.forEach(row -> items.add(item(CatalogSource.LEGACY, row)));
+      rpro.forEach(row -> items.add(item(CatalogSource.RPRO, row)));
+      return items;
+   }
+
+   private static CatalogItemDTO item(CatalogSource source, CatalogRowView row) {
+      return CatalogItemDTO.builder().source(source).sourceId(row.id()).sbsNo(row.sbsNo())
+               .modulo(row.modulo()).campo(row.campo()).valor(row.valor())
+               .descripcion(row.descripcion()).orden(row.orden()).activo(row.activo())
+               .sourceDisplay(source.name()).build();
+   }
+
+   /**
+    * In-memory stand-in for a Spring Data repository: answers the named query methods with fixed
+    * results and fails on anything else
+    */
+   @SuppressWarnings("unchecked")
+   static <R> R repository(Class<R> type, Map<String, Object> answers) {
+      return (R) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type},
+               (proxy, method, args) -> {
+                  if (answers.containsKey(method.getName())) {
+                     return answers.get(method.getName());
+                  }
+                  return switch (method.getName()) {
+                     case "hashCode" -> System.identityHashCode(proxy);
+                     case "equals" -> proxy == args[0];
+                     case "toString" -> "Fake" + type.getSimpleName();
+                     default -> throw new UnsupportedOperationException(method.getName());
+                  };
+               });
+   }
+
+   /**
+    * Set a field normally injected with @Value
+    */
+   static void inject(Object target, String name, Object value) {
+      Field field = ReflectionUtils.findField(target.getClass(), name);
+      ReflectionUtils.makeAccessible(field);
+      ReflectionUtils.setField(field, target, value);
+   }
+}
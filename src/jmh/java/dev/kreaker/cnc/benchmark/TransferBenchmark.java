@@ -0,0 +1,166 @@
+/* (c) 2026 Alejandro Lopez Monzon <alejandro@kreaker.dev> for Kreaker Developments */
+package dev.kreaker.cnc.benchmark;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.openjdk.jmh.annotations.*;
+
+import com.opencsv.CSVWriter;
+import com.opencsv.exceptions.CsvException;
+
+import dev.kreaker.cnc.domain.model.CatalogRowView;
+import dev.kreaker.cnc.service.CatalogService;
+import dev.kreaker.cnc.service.ExportImportService;
+import dev.kreaker.cnc.service.dto.CatalogFilterDTO;
+import dev.kreaker.cnc.service.dto.CatalogItemDTO;
+import dev.kreaker.cnc.service.dto.ConversionDTO;
+import dev.kreaker.cnc.service.dto.ImportResultDTO;
+import dev.kreaker.cnc.service.importer.BulkImportEngine;
+import dev.kreaker.cnc.service.importer.CatalogImportRow;
+import dev.kreaker.cnc.service.importer.ImportProgress;
+import dev.kreaker.cnc.service.importer.RowSource;
+
+/**
+ * CSV and Excel export writing and import row parsing, with the database stages replaced by
+ * in-memory fakes so only the file handling is measured
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TransferBenchmark {
+
+   private static final String[] IMPORT_HEADERS =
+            {"Modulo", "Campo", "Valor", "Cadena", "Descripcion", "Orden", "Domain", "Status"};
+
+   @Param({"10000", "100000", "1000000"})
+   private int rows;
+
+   private ExportImportService service;
+   private byte[] catalogCsv;
+   private byte[] catalogXlsx;
+   private final CatalogFilterDTO filter = new CatalogFilterDTO();
+
+   @Setup(Level.Trial)
+   public void setUp() throws IOException {
+      SyntheticCatalog catalog = new SyntheticCatalog(rows);
+      service = new ExportImportService(new FakeCatalogService(catalog.items()),
+               new ParseOnlyImportEngine());
+      SyntheticCatalog.inject(service, "excelRowWindow", 200);
+      SyntheticCatalog.inject(service, "excelWidthSampleRows", 500);
+
+      catalogCsv = importCsv(catalog.rpro);
+      catalogXlsx = importXlsx(catalog.rpro);
+   }
+
+   @Benchmark
+   public void exportCsv() throws IOException {
+      service.exportToCsv(filter, OutputStream.nullOutputStream());
+   }
+
+   @Benchmark
+   public void exportExcel() throws IOException {
+      service.exportToExcel(filter, OutputStream.nullOutputStream());
+   }
+
+   @Benchmark
+   public ImportResultDTO importCsvRows() throws IOException, CsvException {
+      return service.importCatalogsFromCsv(new ByteArrayInputStream(catalogCsv),
+               ImportProgress.NONE);
+   }
+
+   @Benchmark
+   public ImportResultDTO importExcelRows() throws IOException {
+      return service.importCatalogsFromExcel(new ByteArrayInputStream(catalogXlsx),
+               ImportProgress.NONE);
+   }
+
+   private static String[] importRow(CatalogRowView row) {
+      return new String[] {row.modulo(), row.campo(), row.valor(), String.valueOf(row.sbsNo()),
+               row.descripcion(), String.valueOf(row.orden()), "DOM1", "1"};
+   }
+
+   private static byte[] importCsv(List<CatalogRowView> rows) throws IOException {
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      try (CSVWriter writer =
+               new CSVWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8))) {
+         writer.writeNext(IMPORT_HEADERS);
+         rows.forEach(row -> writer.writeNext(importRow(row)));
+      }
+      return out.toByteArray();
+   }
+
+   private static byte[] importXlsx(List<CatalogRowView> rows) throws IOException {
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      try (SXSSFWorkbook workbook = new SXSSFWorkbook(200)) {
+         Sheet sheet = workbook.createSheet("Catalogs");
+         writeRow(sheet, 0, IMPORT_HEADERS);
+         for (int i = 0; i < rows.size(); i++) {
+            writeRow(sheet, i + 1, importRow(rows.get(i)));
+         }
+         workbook.write(out);
+      }
+      return out.toByteArray();
+   }
+
+   private static void writeRow(Sheet sheet, int index, String[] values) {
+      Row row = sheet.createRow(index);
+      for (int i = 0; i < values.length; i++) {
+         row.createCell(i).setCellValue(values[i]);
+      }
+   }
+
+   /**
+    * Serves the export from a fixed list instead of a database cursor
+    */
+   private static final class FakeCatalogService extends CatalogService {
+      private final List<CatalogItemDTO> items;
+
+      FakeCatalogService(List<CatalogItemDTO> items) {
+         super(null, null, null, null, null, null, null, null, null, null);
+         this.items = items;
+      }
+
+      @Override
+      public long forEachUnifiedCatalogItem(CatalogFilterDTO filter,
+               Consumer<CatalogItemDTO> action) {
+         items.forEach(action);
+         return items.size();
+      }
+   }
+
+   /**
+    * Drains the parsed rows without the lookup and write stages
+    */
+   private static final class ParseOnlyImportEngine extends BulkImportEngine {
+
+      ParseOnlyImportEngine() {
+         super(null, null, null, null, null, null, null, null, null);
+      }
+
+      @Override
+      public ImportResultDTO importConversions(RowSource<ConversionDTO> source,
+               ImportProgress progress) throws IOException {
+         return drain(source);
+      }
+
+      @Override
+      public ImportResultDTO importCatalogs(RowSource<CatalogImportRow> source,
+               ImportProgress progress) throws IOException {
+         return drain(source);
+      }
+
+      private static ImportResultDTO drain(RowSource<?> source) throws IOException {
+         ImportResultDTO result = new ImportResultDTO();
+         source.read(row -> result.setCreated(result.getCreated() + 1));
+         result.setSuccess(true);
+         return result;
+      }
+   }
+}
@@ -0,0 +1,266 @@
+/* (c) 2026 Alejandro Lopez Monzon <alejandro@kreaker.dev> for Kreaker Developments */
+package dev.kreaker.cnc.loadtest;
+
+import java.io.IOException;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+
+import dev.kreaker.cnc.CnCApplication;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Repeatable load test: starts the application with the loadtest profile (H2 with generated
+ * data), drives the catalog list, export and import endpoints over HTTP and reports latency
+ * percentiles and throughput per scenario
+ */
+@Slf4j
+public class CatalogLoadTest {
+
+   private static final Pattern CSRF = Pattern.compile("name=\"_csrf\"\\s+value=\"([^\"]+)\"");
+   private static final Pattern JOB_LOCATION = Pattern.compile("/export-import/jobs/([\\w-]+)");
+   private static final Pattern FINISHED = Pattern.compile("\"finished\"\\s*:\\s*true");
+
+   private final HttpClient client;
+   private final String baseUrl;
+   private final String authorization;
+   private final Environment environment;
+
+   CatalogLoadTest(String baseUrl, Environment environment) {
+      this.client = HttpClient.newBuilder().cookieHandler(new CookieManager())
+               .followRedirects(HttpClient.Redirect.NEVER).connectTimeout(Duration.ofSeconds(10))
+               .build();
+      this.baseUrl = baseUrl;
+      this.environment = environment;
+      String credentials = environment.getProperty("cnc.loadtest.username") + ":"
+               + environment.getProperty("cnc.loadtest.password");
+      this.authorization = "Basic " + Base64.getEncoder()
+               .encodeToString(credentials.getBytes(StandardCharsets.UTF_8));
+   }
+
+   public static void main(String[] args) throws Exception {
+      SpringApplication application = new SpringApplication(CnCApplication.class);
+      application.setAdditionalProfiles("loadtest");
+      try (ConfigurableApplicationContext context = application.run(args)) {
+         Environment environment = context.getEnvironment();
+         String baseUrl = "http://localhost:" + environment.getProperty("local.server.port");
+         List<ScenarioResult> results = new CatalogLoadTest(baseUrl, environment).run();
+
+         results.forEach(result -> log.info("{}", result));
+         Path report = Path.of(environment.getProperty("cnc.loadtest.report",
+                  "build/loadtest/report.csv"));
+         Files.createDirectories(report.toAbsolutePath().getParent());
+         List<String> lines = new ArrayList<>();
+         lines.add(ScenarioResult.CSV_HEADER);
+         results.forEach(result -> lines.add(result.toCsv()));
+         Files.write(report, lines);
+         log.info("Load test report written to {}", report.toAbsolutePath());
+      }
+   }
+
+   List<ScenarioResult> run() throws Exception {
+      int concurrency = property("cnc.loadtest.concurrency", 8);
+      int warmup = property("cnc.loadtest.warmup-requests", 200);
+      int pageRequests = property("cnc.loadtest.page-requests", 2000);
+      int exportRequests = property("cnc.loadtest.export-requests", 10);
+      int imports = property("cnc.loadtest.imports", 5);
+      int importRows = property("cnc.loadtest.import-rows", 5000);
+      int modulos = property("cnc.loadtest.modulos", 40);
+
+      // Warm up the JIT and the snapshot before measuring anything
+      scenario("warmup", warmup, concurrency, i -> get("/catalogs?page=" + (i % 20)));
+
+      List<ScenarioResult> results = new ArrayList<>();
+      results.add(scenario("catalogs-page", pageRequests, concurrency,
+               i -> get("/catalogs?size=50&page=" + (i % 200))));
+      results.add(scenario("catalogs-filter", pageRequests, concurrency,
+               i -> get("/catalogs?modulo=MOD" + String.format("%02d", i % modulos))));
+      results.add(scenario("catalogs-search", pageRequests, concurrency, i -> get(
+               "/catalogs?searchTerm=" + encode(LoadTestDataGenerator.WORDS[i
+                        % LoadTestDataGenerator.WORDS.length]))));
+      results.add(scenario("catalogs-suggest", pageRequests, concurrency,
+               i -> get("/catalogs/suggest?searchTerm=" + encode(LoadTestDataGenerator.WORDS[i
+                        % LoadTestDataGenerator.WORDS.length].substring(0, 3)))));
+      results.add(scenario("export-csv", exportRequests, Math.min(concurrency, 2),
+               _ -> get("/export-import/export/csv")));
+      results.add(scenario("export-excel", exportRequests, Math.min(concurrency, 2),
+               _ -> get("/export-import/export/excel")));
+      results.add(scenario("import-catalogs-csv", imports, 1,
+               i -> importCatalogs(importCsv(i, importRows))));
+      return results;
+   }
+
+   /**
+    * Run count requests on a fixed pool and collect their latencies
+    */
+   private ScenarioResult scenario(String name, int count, int concurrency, Request request)
+            throws InterruptedException {
+      long[] latencies = new long[count];
+      AtomicInteger errors = new AtomicInteger();
+      AtomicInteger next = new AtomicInteger();
+
+      long start = System.nanoTime();
+      try (ExecutorService executor = Executors.newFixedThreadPool(concurrency)) {
+         for (int worker = 0; worker < concurrency; worker++) {
+            executor.execute(() -> {
+               for (int i = next.getAndIncrement(); i < count; i = next.getAndIncrement()) {
+                  long requestStart = System.nanoTime();
+                  try {
+                     request.execute(i);
+                  } catch (Exception e) {
+                     if (errors.getAndIncrement() == 0) {
+                        log.warn("{} request failed: {}", name, e.getMessage());
+                     }
+                  }
+                  latencies[i] = System.nanoTime() - requestStart;
+               }
+            });
+         }
+      }
+      long elapsed = System.nanoTime() - start;
+      return ScenarioResult.of(name, latencies, errors.get(), elapsed);
+   }
+
+   private void get(String path) throws IOException, InterruptedException {
+      HttpResponse<Void> response = client.send(request(path).GET().build(),
+               HttpResponse.BodyHandlers.discarding());
+      expect(response, 200);
+   }
+
+   /**
+    * Upload a catalog CSV and wait until the background job has finished
+    */
+   private void importCatalogs(String csv) throws IOException, InterruptedException {
+      HttpResponse<String> page = client.send(request("/catalogs").GET().build(),
+               HttpResponse.BodyHandlers.ofString());
+      Matcher csrf = CSRF.matcher(page.body());
+      if (!csrf.find()) {
+         throw new IllegalStateException("No CSRF token on the catalog page");
+      }
+
+      String boundary = "cnc-loadtest-" + UUID.randomUUID();
+      String body = "--" + boundary + "\r\n"
+               + "Content-Disposition: form-data; name=\"_csrf\"\r\n\r\n" + csrf.group(1) + "\r\n"
+               + "--" + boundary + "\r\n"
+               + "Content-Disposition: form-data; name=\"file\"; filename=\"loadtest.csv\"\r\n"
+               + "Content-Type: text/csv\r\n\r\n" + csv + "\r\n" + "--" + boundary + "--\r\n";
+      HttpResponse<Void> upload = client.send(request("/export-import/import/catalogs")
+               .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+               .POST(HttpRequest.BodyPublishers.ofString(body)).build(),
+               HttpResponse.BodyHandlers.discarding());
+      expect(upload, 302);
+
+      Matcher job = JOB_LOCATION.matcher(upload.headers().firstValue("Location").orElse(""));
+      if (!job.find()) {
+         throw new IllegalStateException("Import was not queued: "
+                  + upload.headers().firstValue("Location").orElse("no redirect"));
+      }
+      String statusPath = "/export-import/jobs/" + job.group(1) + "/status";
+      while (true) {
+         HttpResponse<String> status = client.send(request(statusPath).GET().build(),
+                  HttpResponse.BodyHandlers.ofString());
+         expect(status, 200);
+         if (FINISHED.matcher(status.body()).find()) {
+            return;
+         }
+         Thread.sleep(50);
+      }
+   }
+
+   /**
+    * New catalog rows, unique per import so each one creates rather than updates
+    */
+   private static String importCsv(int importNumber, int rows) {
+      StringBuilder csv =
+               new StringBuilder("Modulo,Campo,Valor,Cadena,Descripcion,Orden,Domain,Status\n");
+      for (int i = 0; i < rows; i++) {
+         csv.append("MODLT,CAMPO").append(i % 10).append(",LT").append(importNumber).append('_')
+                  .append(i).append(",1,load test row ").append(i).append(',').append(i % 100)
+                  .append(",DOMLT,1\n");
+      }
+      return csv.toString();
+   }
+
+   private HttpRequest.Builder request(String path) {
+      return HttpRequest.newBuilder(URI.create(baseUrl + path))
+               .header("Authorization", authorization).timeout(Duration.ofMinutes(5));
+   }
+
+   private static void expect(HttpResponse<?> response, int status) {
+      if (response.statusCode() != status) {
+         throw new IllegalStateException(
+                  response.request().uri().getPath() + " returned " + response.statusCode());
+      }
+   }
+
+   private static String encode(String value) {
+      return URLEncoder.encode(value, StandardCharsets.UTF_8);
+   }
+
+   private int property(String name, int defaultValue) {
+      return environment.getProperty(name, Integer.class, defaultValue);
+   }
+
+   @FunctionalInterface
+   private interface Request {
+      void execute(int index) throws Exception;
+   }
+
+   /**
+    * Latency percentiles (ms) and throughput of one scenario
+    */
+   record ScenarioResult(String name, int requests, int errors, double throughput, double p50,
+            double p90, double p99, double max) {
+
+      static final String CSV_HEADER = "scenario,requests,errors,throughput_rps,p50_ms,p90_ms,"
+               + "p99_ms,max_ms";
+
+      static ScenarioResult of(String name, long[] latencies, int errors, long elapsedNanos) {
+         long[] sorted = latencies.clone();
+         Arrays.sort(sorted);
+         double seconds = elapsedNanos / 1e9;
+         return new ScenarioResult(name, sorted.length, errors,
+                  seconds > 0 ? sorted.length / seconds : 0, percentile(sorted, 0.50),
+                  percentile(sorted, 0.90), percentile(sorted, 0.99),
+                  sorted.length > 0 ? sorted[sorted.length - 1] / 1e6 : 0);
+      }
+
+      private static double percentile(long[] sorted, double quantile) {
+         if (sorted.length == 0) {
+            return 0;
+         }
+         int index = (int) Math.ceil(quantile * sorted.length) - 1;
+         return sorted[Math.clamp(index, 0, sorted.length - 1)] / 1e6;
+      }
+
+      String toCsv() {
+         return String.format(Locale.ROOT, "%s,%d,%d,%.2f,%.2f,%.2f,%.2f,%.2f", name, requests,
+                  errors, throughput, p50, p90, p99, max);
+      }
+
+      @Override
+      public String toString() {
+         return String.format(Locale.ROOT,
+                  "%-20s %6d req %4d err %9.1f req/s  p50 %8.1f ms  p90 %8.1f ms  p99 %8.1f ms  "
+                           + "max %8.1f ms",
+                  name, requests, errors, throughput, p50, p90, p99, max);
+      }
+   }
+}
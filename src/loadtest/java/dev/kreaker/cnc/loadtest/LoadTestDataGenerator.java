@@ -0,0 +1,205 @@
+/* (c) 2026 Alejandro Lopez Monzon <alejandro@kreaker.dev> for Kreaker Developments */
+package dev.kreaker.cnc.loadtest;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import dev.kreaker.cnc.service.CatalogFacetService;
+import dev.kreaker.cnc.service.CatalogSnapshot;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Fills the load test database with a synthetic catalog. Modulos, campos per modulo and
+ * description words follow Zipf distributions and SBS_NO a weighted one, so a few filters match
+ * most rows like in production.
+ */
+@Component
+@Profile("loadtest")
+@Slf4j
+public class LoadTestDataGenerator implements ApplicationRunner {
+
+   static final String[] WORDS = {"alpha", "bravo", "charlie", "delta", "echo", "foxtrot", "golf",
+            "hotel", "india", "juliet", "kilo", "lima", "mike", "november", "oscar", "papa",
+            "quebec", "romeo", "sierra", "tango", "uniform", "victor", "whiskey", "xray", "yankee",
+            "zulu"};
+
+   private static final int BATCH_SIZE = 1000;
+
+   private static final String INSERT_LEGACY = """
+            INSERT INTO REPORTUSER.RV_CATALOGOS (P_ID, SBS_NO, MODULO, CAMPO, VALOR, DESCRIPCION,
+                   ACTIVO, ORDEN, CREADO_POR, FECHA_CREACION, FECHA_MODIFICACION)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, 'loadtest', ?, ?)""";
+
+   private static final String INSERT_RPRO = """
+            INSERT INTO REPORTUSER.RV_RPRO_CATALOGO (RPRO_SID, P_ID, SBS_NO, MODULO, CAMPO, VALOR,
+                   DESCRIPCION, ACTIVO, ORDEN, CREADO_POR, FECHA_CREACION, FECHA_MODIFICACION)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, 'loadtest', ?, ?)""";
+
+   private static final String INSERT_CONVERSION = """
+            INSERT INTO REPORTUSER.AL_CATALOG_TWOSTEP (MODULO, CAMPO, VALOR, CADENA, DOMAIN,
+                   STATUS, CREATED_AT, CREATED_BY, MODIFIED_AT, MODIFIED_BY)
+            VALUES (?, ?, ?, ?, ?, 1, ?, 'loadtest', ?, 'loadtest')""";
+
+   private static final String INSERT_TARGET = """
+            INSERT INTO REPORTUSER.AL_CATALOG_TARGETS (MODULO, CAMPO, VALOR, CADENA, SRCTABLE,
+                   SRCFIELD, CREATED_AT, MODIFIED_AT)
+            VALUES (?, ?, ?, ?, 'LOADTEST_TABLE', 'LOADTEST_FIELD', ?, ?)""";
+
+   private final JdbcTemplate jdbcTemplate;
+   private final CatalogSnapshot catalogSnapshot;
+   private final CatalogFacetService catalogFacetService;
+
+   @Value("${cnc.loadtest.rows:100000}")
+   private int rows;
+
+   @Value("${cnc.loadtest.seed:42}")
+   private long seed;
+
+   @Value("${cnc.loadtest.modulos:40}")
+   private int modulos;
+
+   @Value("${cnc.loadtest.campos-per-modulo:25}")
+   private int camposPerModulo;
+
+   @Value("${cnc.loadtest.skew:1.1}")
+   private double skew;
+
+   @Value("${cnc.loadtest.sbs-weights:80,20}")
+   private double[] sbsWeights;
+
+   @Value("${cnc.loadtest.rpro-share:0.7}")
+   private double rproShare;
+
+   @Value("${cnc.loadtest.conversion-share:0.3}")
+   private double conversionShare;
+
+   @Value("${cnc.loadtest.target-share:0.05}")
+   private double targetShare;
+
+   @Value("${cnc.loadtest.inactive-share:0.05}")
+   private double inactiveShare;
+
+   @Value("${cnc.catalog.snapshot.enabled:true}")
+   private boolean snapshotEnabled;
+
+   public LoadTestDataGenerator(@Qualifier("oracleJdbcTemplate") JdbcTemplate jdbcTemplate,
+            CatalogSnapshot catalogSnapshot, CatalogFacetService catalogFacetService) {
+      this.jdbcTemplate = jdbcTemplate;
+      this.catalogSnapshot = catalogSnapshot;
+      this.catalogFacetService = catalogFacetService;
+   }
+
+   @Override
+   public void run(ApplicationArguments args) {
+      long start = System.nanoTime();
+      SplittableRandom random = new SplittableRandom(seed);
+      double[] moduloWeights = zipf(modulos);
+      double[] campoWeights = zipf(camposPerModulo);
+      double[] wordWeights = zipf(WORDS.length);
+      LocalDateTime now = LocalDateTime.now();
+
+      List<Object[]> legacy = new ArrayList<>(BATCH_SIZE);
+      List<Object[]> rpro = new ArrayList<>(BATCH_SIZE);
+      List<Object[]> conversions = new ArrayList<>(BATCH_SIZE);
+      List<Object[]> targets = new ArrayList<>(BATCH_SIZE);
+      int conversionCount = 0;
+      int targetCount = 0;
+
+      for (int i = 1; i <= rows; i++) {
+         String modulo = "MOD" + String.format("%02d", pick(random, moduloWeights));
+         String campo = "CAMPO" + String.format("%02d", pick(random, campoWeights));
+         // Unique per row, and short enough for the 50 character conversion key
+         String valor = "V" + i;
+         int sbsNo = pick(random, sbsWeights) + 1;
+         String descripcion = WORDS[pick(random, wordWeights)] + " "
+                  + WORDS[pick(random, wordWeights)] + " " + modulo.toLowerCase() + " item " + i;
+         int activo = random.nextDouble() < inactiveShare ? 0 : 1;
+         Timestamp created = Timestamp.valueOf(now.minusMinutes(random.nextInt(525_600)));
+
+         if (random.nextDouble() < rproShare) {
+            rpro.add(new Object[] {(long) i, (long) i, sbsNo, modulo, campo, valor, descripcion,
+                     activo, i % 100, created, created});
+         } else {
+            legacy.add(new Object[] {(long) i, sbsNo, modulo, campo, valor, descripcion, activo,
+                     i % 100, created, created});
+         }
+         if (random.nextDouble() < conversionShare) {
+            conversions.add(new Object[] {modulo, campo, valor, sbsNo,
+                     "DOM" + random.nextInt(20), created, created});
+            conversionCount++;
+         }
+         if (random.nextDouble() < targetShare) {
+            targets.add(new Object[] {modulo, campo, valor, sbsNo, created, created});
+            targetCount++;
+         }
+
+         flushIfFull(INSERT_LEGACY, legacy);
+         flushIfFull(INSERT_RPRO, rpro);
+         flushIfFull(INSERT_CONVERSION, conversions);
+         flushIfFull(INSERT_TARGET, targets);
+      }
+      flush(INSERT_LEGACY, legacy);
+      flush(INSERT_RPRO, rpro);
+      flush(INSERT_CONVERSION, conversions);
+      flush(INSERT_TARGET, targets);
+
+      catalogFacetService.invalidate();
+      if (snapshotEnabled) {
+         catalogSnapshot.reload();
+      }
+      log.info("Generated {} catalog rows, {} conversions and {} targets in {} ms", rows,
+               conversionCount, targetCount, (System.nanoTime() - start) / 1_000_000);
+   }
+
+   private void flushIfFull(String sql, List<Object[]> batch) {
+      if (batch.size() >= BATCH_SIZE) {
+         flush(sql, batch);
+      }
+   }
+
+   private void flush(String sql, List<Object[]> batch) {
+      if (!batch.isEmpty()) {
+         jdbcTemplate.batchUpdate(sql, batch);
+         batch.clear();
+      }
+   }
+
+   /**
+    * Weights of ranks 1..n under a Zipf distribution with the configured exponent
+    */
+   private double[] zipf(int n) {
+      double[] weights = new double[n];
+      for (int rank = 0; rank < n; rank++) {
+         weights[rank] = 1.0 / Math.pow(rank + 1, skew);
+      }
+      return weights;
+   }
+
+   /**
+    * Index drawn with probability proportional to its weight
+    */
+   private static int pick(SplittableRandom random, double[] weights) {
+      double total = Arrays.stream(weights).sum();
+      double target = random.nextDouble() * total;
+      for (int i = 0; i < weights.length; i++) {
+         target -= weights[i];
+         if (target < 0) {
+            return i;
+         }
+      }
+      return weights.length - 1;
+   }
+}
@@ -0,0 +1,75 @@
+-- REPORTUSER tables as the application maps them (H2, Oracle mode)
+CREATE SCHEMA IF NOT EXISTS REPORTUSER;
+
+CREATE TABLE IF NOT EXISTS REPORTUSER.RV_CATALOGOS (
+   P_ID NUMBER PRIMARY KEY,
+   SBS_NO NUMBER NOT NULL,
+   MODULO VARCHAR2(50) NOT NULL,
+   CAMPO VARCHAR2(50) NOT NULL,
+   VALOR VARCHAR2(100) NOT NULL,
+   DESCRIPCION VARCHAR2(200),
+   ACTIVO NUMBER(1) NOT NULL,
+   ORDEN NUMBER,
+   CREADO_POR VARCHAR2(30) NOT NULL,
+   FECHA_CREACION TIMESTAMP NOT NULL,
+   MODIFICADO_POR VARCHAR2(30),
+   FECHA_MODIFICACION TIMESTAMP,
+   ESTADO VARCHAR2(100)
+);
+
+CREATE TABLE IF NOT EXISTS REPORTUSER.RV_RPRO_CATALOGO (
+   RPRO_SID NUMBER PRIMARY KEY,
+   P_ID NUMBER NOT NULL,
+   SBS_NO NUMBER NOT NULL,
+   MODULO VARCHAR2(50) NOT NULL,
+   CAMPO VARCHAR2(50) NOT NULL,
+   VALOR VARCHAR2(100) NOT NULL,
+   DESCRIPCION VARCHAR2(200),
+   ACTIVO NUMBER(1) NOT NULL,
+   ORDEN NUMBER,
+   CREADO_POR VARCHAR2(30) NOT NULL,
+   FECHA_CREACION TIMESTAMP NOT NULL,
+   MODIFICADO_POR VARCHAR2(30),
+   FECHA_MODIFICACION TIMESTAMP,
+   ESTADO VARCHAR2(100),
+   PADRE_SID NUMBER
+);
+
+CREATE TABLE IF NOT EXISTS REPORTUSER.AL_CATALOG_TWOSTEP (
+   MODULO VARCHAR2(50) NOT NULL,
+   CAMPO VARCHAR2(50) NOT NULL,
+   VALOR VARCHAR2(50) NOT NULL,
+   CADENA NUMBER NOT NULL,
+   DOMAIN VARCHAR2(20),
+   STATUS NUMBER,
+   CREATED_AT TIMESTAMP,
+   CREATED_BY VARCHAR2(50),
+   MODIFIED_AT TIMESTAMP,
+   MODIFIED_BY VARCHAR2(50),
+   PRIMARY KEY (MODULO, CAMPO, VALOR, CADENA)
+);
+
+CREATE TABLE IF NOT EXISTS REPORTUSER.AL_CATALOG_TARGETS (
+   MODULO VARCHAR2(50) NOT NULL,
+   CAMPO VARCHAR2(50) NOT NULL,
+   VALOR VARCHAR2(50) NOT NULL,
+   CADENA NUMBER NOT NULL,
+   SRCTABLE VARCHAR2(35),
+   SRCFIELD VARCHAR2(35),
+   CREATED_AT TIMESTAMP,
+   MODIFIED_AT TIMESTAMP,
+   PRIMARY KEY (MODULO, CAMPO, VALOR, CADENA)
+);
+
+CREATE INDEX IF NOT EXISTS REPORTUSER.RV_CATALOGOS_KEY_IX
+   ON REPORTUSER.RV_CATALOGOS (MODULO, CAMPO, VALOR, SBS_NO);
+CREATE INDEX IF NOT EXISTS REPORTUSER.RV_RPRO_CATALOGO_KEY_IX
+   ON REPORTUSER.RV_RPRO_CATALOGO (MODULO, CAMPO, VALOR, SBS_NO);
+
+-- RV_CATALOGOS id blocks (CatalogIdAllocator), above every generated P_ID
+CREATE SEQUENCE IF NOT EXISTS REPORTUSER.RV_CATALOGOS_SEQ START WITH 1000000000 INCREMENT BY 50;
+
+-- Oracle dictionary view the allocator checks the sequence increment against
+CREATE VIEW IF NOT EXISTS ALL_SEQUENCES AS
+   SELECT SEQUENCE_SCHEMA AS SEQUENCE_OWNER, SEQUENCE_NAME, INCREMENT AS INCREMENT_BY
+   FROM INFORMATION_SCHEMA.SEQUENCES;
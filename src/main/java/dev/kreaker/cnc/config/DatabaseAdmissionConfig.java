@@ -0,0 +1,89 @@
+/* (c) 2026 Alejandro Lopez Monzon <alejandro@kreaker.dev> for Kreaker Developments */
+package dev.kreaker.cnc.config;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import dev.kreaker.cnc.service.DatabaseAdmission;
+
+/**
+ * Puts the {@link DatabaseAdmission} semaphores in front of the Oracle DataSource: a connection
+ * is only requested from Hikari once a permit is held, and closing it returns the permit
+ */
+@Configuration
+@ConditionalOnProperty(name = "cnc.db.admission.enabled", havingValue = "true",
+         matchIfMissing = true)
+public class DatabaseAdmissionConfig {
+
+   @Bean
+   static BeanPostProcessor databaseAdmissionPostProcessor(
+            ObjectProvider<DatabaseAdmission> admission) {
+      return new BeanPostProcessor() {
+         @Override
+         public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof DataSource dataSource) || !"dataSource".equals(beanName)) {
+               return bean;
+            }
+            return new AdmissionDataSource(dataSource, admission.getObject());
+         }
+      };
+   }
+
+   static class AdmissionDataSource extends DelegatingDataSource {
+
+      private final DatabaseAdmission admission;
+
+      AdmissionDataSource(DataSource target, DatabaseAdmission admission) {
+         super(target);
+         this.admission = admission;
+      }
+
+      @Override
+      public Connection getConnection() throws SQLException {
+         Runnable release = admission.acquire();
+         try {
+            return releasingOnClose(super.getConnection(), release);
+         } catch (SQLException | RuntimeException e) {
+            release.run();
+            throw e;
+         }
+      }
+
+      @Override
+      public Connection getConnection(String username, String password) throws SQLException {
+         Runnable release = admission.acquire();
+         try {
+            return releasingOnClose(super.getConnection(username, password), release);
+         } catch (SQLException | RuntimeException e) {
+            release.run();
+            throw e;
+         }
+      }
+
+      private static Connection releasingOnClose(Connection connection, Runnable release) {
+         return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                  new Class<?>[] {Connection.class}, (proxy, method, args) -> {
+                     try {
+                        return method.invoke(connection, args);
+                     } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                     } finally {
+                        if ("close".equals(method.getName())) {
+                           release.run();
+                        }
+                     }
+                  });
+      }
+   }
+}
@@ -1,29 +1,53 @@
 /* (c) 2026 Alejandro Lopez Monzon <alejandro@kreaker.dev> for Kreaker Developments */
 package dev.kreaker.cnc.config;
 
+import java.time.Duration;
+import java.util.OptionalLong;
 import java.util.Properties;
 
+import javax.cache.CacheManager;
+import javax.cache.Caching;
 import javax.sql.DataSource;
 
 import org.hibernate.dialect.DatabaseVersion;
 import org.hibernate.dialect.OracleDialect;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.orm.jpa.JpaTransactionManager;
 import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
 import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
 import org.springframework.transaction.PlatformTransactionManager;
 
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+
+import dev.kreaker.cnc.domain.entity.RvRproCatalogo;
+
 import jakarta.persistence.EntityManagerFactory;
 import lombok.extern.slf4j.Slf4j;
 
 @Configuration
 public class HibernateConfig {
 
+   @Value("${cnc.jpa.batch-size:50}")
+   private int batchSize;
+
+   @Value("${cnc.jpa.show-sql:false}")
+   private boolean showSql;
+
+   // Hibernate's built-in query cache regions
+   private static final String DEFAULT_QUERY_REGION = "default-query-results-region";
+   private static final String TIMESTAMPS_REGION = "default-update-timestamps-region";
+
    @Primary
    @Bean
-   public LocalContainerEntityManagerFactoryBean entityManagerFactory(DataSource dataSource) {
+   public LocalContainerEntityManagerFactoryBean entityManagerFactory(DataSource dataSource,
+            ObjectProvider<CacheManager> rproCacheManager) {
       LocalContainerEntityManagerFactoryBean em = new LocalContainerEntityManagerFactoryBean();
       em.setDataSource(dataSource);
       em.setPackagesToScan("dev.kreaker.cnc.domain.entity");
@@ -35,15 +59,62 @@ public class HibernateConfig {
       // Force Oracle 11g dialect (uses ROWNUM instead of FETCH FIRST)
       properties.setProperty("hibernate.dialect", Oracle11gDialect.class.getName());
       properties.setProperty("hibernate.hbm2ddl.auto", "none");
-      properties.setProperty("hibernate.show_sql", "true");
-      properties.setProperty("hibernate.format_sql", "true");
+      properties.setProperty("hibernate.show_sql", String.valueOf(showSql));
+      properties.setProperty("hibernate.format_sql", String.valueOf(showSql));
       properties.setProperty("hibernate.default_schema", "REPORTUSER");
 
+      // Write path: group inserts/updates per table into JDBC batches, one round trip each
+      properties.setProperty("hibernate.jdbc.batch_size", String.valueOf(batchSize));
+      properties.setProperty("hibernate.order_inserts", "true");
+      properties.setProperty("hibernate.order_updates", "true");
+      properties.setProperty("hibernate.jdbc.batch_versioned_data", "true");
+
+      // Second-level and query cache, only for the read-only RV_RPRO_CATALOGO
+      CacheManager cacheManager = rproCacheManager.getIfAvailable();
+      properties.setProperty("hibernate.cache.use_second_level_cache",
+               String.valueOf(cacheManager != null));
+      properties.setProperty("hibernate.cache.use_query_cache",
+               String.valueOf(cacheManager != null));
+      if (cacheManager != null) {
+         properties.setProperty("hibernate.cache.region.factory_class", "jcache");
+         properties.setProperty("hibernate.javax.cache.missing_cache_strategy", "fail");
+      }
+
       em.setJpaProperties(properties);
+      if (cacheManager != null) {
+         em.getJpaPropertyMap().put("hibernate.javax.cache.cache_manager", cacheManager);
+      }
 
       return em;
    }
 
+   /**
+    * In-JVM Caffeine caches backing the RV_RPRO_CATALOGO entity and query regions. Entries expire
+    * after the TTL so rows changed by other applications are picked up; the update timestamps
+    * region must never expire.
+    */
+   @Bean(destroyMethod = "close")
+   @ConditionalOnProperty(name = "cnc.cache.rpro.enabled", havingValue = "true",
+            matchIfMissing = true)
+   public CacheManager rproCacheManager(@Value("${cnc.cache.rpro.ttl:PT10M}") Duration ttl,
+            @Value("${cnc.cache.rpro.max-entries:100000}") long maxEntries) {
+      CacheManager cacheManager = Caching
+               .getCachingProvider(CaffeineCachingProvider.class.getName()).getCacheManager();
+      cacheManager.createCache(RvRproCatalogo.CACHE_REGION, expiring(ttl, maxEntries));
+      cacheManager.createCache(RvRproCatalogo.QUERY_CACHE_REGION, expiring(ttl, maxEntries));
+      cacheManager.createCache(DEFAULT_QUERY_REGION, expiring(ttl, maxEntries));
+      cacheManager.createCache(TIMESTAMPS_REGION, new CaffeineConfiguration<>());
+      return cacheManager;
+   }
+
+   private static CaffeineConfiguration<Object, Object> expiring(Duration ttl, long maxEntries) {
+      CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+      configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+      configuration.setMaximumSize(OptionalLong.of(maxEntries));
+      configuration.setStatisticsEnabled(true);
+      return configuration;
+   }
+
    @Primary
    @Bean
    public PlatformTransactionManager transactionManager(EntityManagerFactory entityManagerFactory) {
@@ -52,6 +123,15 @@ public class HibernateConfig {
       return transactionManager;
    }
 
+   /**
+    * JdbcTemplate on the Oracle DataSource for batched bulk writes; it joins the transactions of
+    * the JPA transaction manager
+    */
+   @Bean("oracleJdbcTemplate")
+   public JdbcTemplate oracleJdbcTemplate(DataSource dataSource) {
+      return new JdbcTemplate(dataSource);
+   }
+
    /**
     * Custom Oracle 11g Dialect to force ROWNUM-based pagination
     */
@@ -0,0 +1,49 @@
+/* (c) 2026 Alejandro Lopez Monzon <alejandro@kreaker.dev> for Kreaker Developments */
+package dev.kreaker.cnc.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import dev.kreaker.cnc.service.query.QueryBudgetListener;
+import dev.kreaker.cnc.service.query.QueryBudgetMonitor;
+
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+
+/**
+ * Wraps the Oracle DataSource in a datasource-proxy that reports every statement to the
+ * {@link QueryBudgetMonitor}. Fetched rows are only counted with
+ * {@code cnc.query-budget.count-rows}: that proxies every JDBC call down to each column getter,
+ * which the snapshot reloads and exports pay for on every row.
+ */
+@Configuration
+@ConditionalOnProperty(name = "cnc.query-budget.enabled", havingValue = "true",
+         matchIfMissing = true)
+public class QueryBudgetConfig {
+
+   @Bean
+   static BeanPostProcessor queryBudgetDataSourcePostProcessor(
+            ObjectProvider<QueryBudgetMonitor> monitor,
+            @Value("${cnc.query-budget.count-rows:false}") boolean countRows) {
+      return new BeanPostProcessor() {
+         @Override
+         public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof DataSource dataSource) || !"dataSource".equals(beanName)) {
+               return bean;
+            }
+            QueryBudgetListener listener = new QueryBudgetListener(monitor.getObject());
+            ProxyDataSourceBuilder builder =
+                     ProxyDataSourceBuilder.create(dataSource).name("oracle").listener(listener);
+            if (countRows) {
+               builder.methodListener(listener).proxyResultSet();
+            }
+            return builder.build();
+         }
+      };
+   }
+}
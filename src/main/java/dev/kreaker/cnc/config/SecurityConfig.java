@@ -3,11 +3,14 @@ package dev.kreaker.cnc.config;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.ProviderManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
@@ -35,11 +38,31 @@ public class SecurityConfig {
       return new ProviderManager(provider);
    }
 
+   /**
+    * Machine clients: the ETL API and the Prometheus scraper authenticate with HTTP Basic on every
+    * call, without sessions or CSRF tokens
+    */
    @Bean
+   @Order(1)
+   public SecurityFilterChain apiSecurityFilterChain(HttpSecurity http) throws Exception {
+      http.securityMatcher("/api/**", "/actuator/prometheus")
+               .authorizeHttpRequests(auth -> auth.requestMatchers("/actuator/prometheus")
+                        .hasRole("ADMIN").anyRequest().authenticated())
+               .httpBasic(Customizer.withDefaults())
+               .sessionManagement(
+                        session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+               .csrf(csrf -> csrf.disable());
+      return http.build();
+   }
+
+   @Bean
+   @Order(2)
    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
       http.authorizeHttpRequests(
                auth -> auth.requestMatchers("/login", "/css/**", "/js/**", "/favicon.ico", "/error")
-                        .permitAll().anyRequest().authenticated())
+                        .permitAll().requestMatchers("/actuator/health/**").permitAll()
+                        .requestMatchers("/admin/**", "/actuator/**").hasRole("ADMIN")
+                        .anyRequest().authenticated())
                .formLogin(form -> form.loginPage("/login").defaultSuccessUrl("/catalogs", true)
                         .permitAll())
                .logout(logout -> logout.logoutUrl("/logout").logoutSuccessUrl("/login?logout=true")
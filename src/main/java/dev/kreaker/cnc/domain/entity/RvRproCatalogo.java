@@ -3,6 +3,8 @@ package dev.kreaker.cnc.domain.entity;
 
 import java.time.LocalDateTime;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.Immutable;
 
 import jakarta.persistence.*;
@@ -18,8 +20,13 @@ import lombok.Setter;
 @NoArgsConstructor
 @AllArgsConstructor
 @Immutable
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY, region = RvRproCatalogo.CACHE_REGION)
 public class RvRproCatalogo {
 
+   public static final String CACHE_REGION = "rpro-catalogo";
+   public static final String QUERY_CACHE_REGION = "rpro-catalogo-queries";
+
    @Id
    @Column(name = "RPRO_SID")
    private Long rproSid;
@@ -0,0 +1,18 @@
+/* (c) 2026 Alejandro Lopez Monzon <alejandro@kreaker.dev> for Kreaker Developments */
+package dev.kreaker.cnc.domain.model;
+
+/**
+ * Filter criteria for the unified (LEGACY + RPRO) catalog query. {@code searchTerm} is expected to
+ * be trimmed and lower-cased already.
+ */
+public record CatalogCriteria(String modulo, String campo, Integer sbsNo, CatalogSource source,
+         Boolean hasConversion, String searchTerm) {
+
+   public boolean includes(CatalogSource candidate) {
+      return source == null || source == candidate;
+   }
+
+   public boolean hasSearchTerm() {
+      return searchTerm != null && !searchTerm.isEmpty();
+   }
+}
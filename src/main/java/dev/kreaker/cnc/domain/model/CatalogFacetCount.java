@@ -0,0 +1,16 @@
+/* (c) 2026 Alejandro Lopez Monzon <alejandro@kreaker.dev> for Kreaker Developments */
+package dev.kreaker.cnc.domain.model;
+
+/**
+ * Aggregate projection: number of catalog rows per (modulo, campo, sbsNo)
+ */
+public interface CatalogFacetCount {
+
+   String getModulo();
+
+   String getCampo();
+
+   Integer getSbsNo();
+
+   Long getTotal();
+}
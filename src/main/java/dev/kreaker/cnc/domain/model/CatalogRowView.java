@@ -0,0 +1,38 @@
+/* (c) 2026 Alejandro Lopez Monzon <alejandro@kreaker.dev> for Kreaker Developments */
+package dev.kreaker.cnc.domain.model;
+
+import java.time.LocalDateTime;
+
+import dev.kreaker.cnc.domain.entity.RvCatalogos;
+import dev.kreaker.cnc.domain.entity.RvRproCatalogo;
+
+/**
+ * Read-only constructor projection of a RV_CATALOGOS / RV_RPRO_CATALOGO row: the columns the
+ * catalog views use plus the change timestamps, without the audit user and ESTADO columns
+ */
+public record CatalogRowView(Long id, Integer sbsNo, String modulo, String campo, String valor,
+         String descripcion, Integer orden, Integer activo, Long padreSid,
+         LocalDateTime createdAt, LocalDateTime modifiedAt) {
+
+   /**
+    * RV_CATALOGOS rows have no parent
+    */
+   public CatalogRowView(Long id, Integer sbsNo, String modulo, String campo, String valor,
+            String descripcion, Integer orden, Integer activo, LocalDateTime createdAt,
+            LocalDateTime modifiedAt) {
+      this(id, sbsNo, modulo, campo, valor, descripcion, orden, activo, null, createdAt,
+               modifiedAt);
+   }
+
+   public static CatalogRowView of(RvCatalogos c) {
+      return new CatalogRowView(c.getId(), c.getSbsNo(), c.getModulo(), c.getCampo(),
+               c.getValor(), c.getDescripcion(), c.getOrden(), c.getActivo(),
+               c.getFechaCreacion(), c.getFechaModificacion());
+   }
+
+   public static CatalogRowView of(RvRproCatalogo c) {
+      return new CatalogRowView(c.getRproSid(), c.getSbsNo(), c.getModulo(), c.getCampo(),
+               c.getValor(), c.getDescripcion(), c.getOrden(), c.getActivo(), c.getPadreSid(),
+               c.getFechaCreacion(), c.getFechaModificacion());
+   }
+}
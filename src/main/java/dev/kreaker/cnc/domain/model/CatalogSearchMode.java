@@ -0,0 +1,24 @@
+/* (c) 2026 Alejandro Lopez Monzon <alejandro@kreaker.dev> for Kreaker Developments */
+package dev.kreaker.cnc.domain.model;
+
+/**
+ * How the catalog search term is matched against modulo, campo, valor and descripcion when the
+ * query runs in Oracle (cnc.catalog.search.mode)
+ */
+public enum CatalogSearchMode {
+
+   /**
+    * Case-insensitive substring match; always available, but scans the catalog tables
+    */
+   CONTAINS,
+
+   /**
+    * Case-insensitive prefix match on UPPER(column); served by function-based UPPER indexes
+    */
+   PREFIX,
+
+   /**
+    * Word-prefix match through an Oracle Text CONTEXT index over the four columns
+    */
+   TEXT
+}
@@ -0,0 +1,26 @@
+/* (c) 2026 Alejandro Lopez Monzon <alejandro@kreaker.dev> for Kreaker Developments */
+package dev.kreaker.cnc.domain.model;
+
+import dev.kreaker.cnc.domain.entity.AlCatalogTwostepId;
+
+/**
+ * Outcome of resolving one (modulo, campo, valor, cadena) key against AL_CATALOG_TWOSTEP.
+ * {@code error} is set instead of the conversion fields when the input line could not be parsed.
+ */
+public record ConversionResolution(String modulo, String campo, String valor, Integer cadena,
+         boolean found, String domain, Integer status, String error) {
+
+   public static ConversionResolution found(AlCatalogTwostepId key, String domain, Integer status) {
+      return new ConversionResolution(key.getModulo(), key.getCampo(), key.getValor(),
+               key.getCadena(), true, domain, status, null);
+   }
+
+   public static ConversionResolution notFound(AlCatalogTwostepId key) {
+      return new ConversionResolution(key.getModulo(), key.getCampo(), key.getValor(),
+               key.getCadena(), false, null, null, null);
+   }
+
+   public static ConversionResolution invalid(String error) {
+      return new ConversionResolution(null, null, null, null, false, null, null, error);
+   }
+}
@@ -0,0 +1,10 @@
+/* (c) 2026 Alejandro Lopez Monzon <alejandro@kreaker.dev> for Kreaker Developments */
+package dev.kreaker.cnc.domain.model;
+
+/**
+ * One row of the unified catalog, already joined to AL_CATALOG_TWOSTEP and AL_CATALOG_TARGETS
+ */
+public record UnifiedCatalogRow(CatalogSource source, Long sourceId, Integer sbsNo, String modulo,
+         String campo, String valor, String descripcion, Integer orden, Integer activo,
+         Long padreSid, boolean hasConversion, String conversionDomain, Integer conversionStatus,
+         boolean hasTarget, String srcTable, String srcField) {}
@@ -1,9 +1,13 @@
 /* (c) 2026 Alejandro Lopez Monzon <alejandro@kreaker.dev> for Kreaker Developments */
 package dev.kreaker.cnc.domain.repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import dev.kreaker.cnc.domain.entity.AlCatalogTargets;
@@ -15,4 +19,7 @@ public interface AlCatalogTargetsRepository
 
    Optional<AlCatalogTargets> findById_ModuloAndId_CampoAndId_ValorAndId_Cadena(String modulo,
             String campo, String valor, Integer cadena);
+
+   @Query("SELECT t FROM AlCatalogTargets t WHERE t.createdAt >= :since OR t.modifiedAt >= :since")
+   List<AlCatalogTargets> findChangedSince(@Param("since") LocalDateTime since);
 }
@@ -1,10 +1,14 @@
 /* (c) 2026 Alejandro Lopez Monzon <alejandro@kreaker.dev> for Kreaker Developments */
 package dev.kreaker.cnc.domain.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import dev.kreaker.cnc.domain.entity.AlCatalogTwostep;
@@ -27,4 +31,21 @@ public interface AlCatalogTwostepRepository
    List<AlCatalogTwostep> findById_Cadena(Integer cadena);
 
    List<AlCatalogTwostep> findByStatus(Integer status);
+
+   @Query("SELECT t FROM AlCatalogTwostep t WHERE t.createdAt >= :since OR t.modifiedAt >= :since")
+   List<AlCatalogTwostep> findChangedSince(@Param("since") LocalDateTime since);
+
+   /**
+    * Keys of all conversions in the given modulos and campos (superset used by bulk imports)
+    */
+   @Query("SELECT t.id FROM AlCatalogTwostep t "
+            + "WHERE t.id.modulo IN :modulos AND t.id.campo IN :campos")
+   List<AlCatalogTwostepId> findKeys(@Param("modulos") Collection<String> modulos,
+            @Param("campos") Collection<String> campos);
+
+   /**
+    * Conversions in the given modulos and campos (superset used by bulk key resolution)
+    */
+   List<AlCatalogTwostep> findById_ModuloInAndId_CampoIn(Collection<String> modulos,
+            Collection<String> campos);
 }
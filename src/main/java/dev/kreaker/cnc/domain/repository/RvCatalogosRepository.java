@@ -1,28 +1,67 @@
 /* (c) 2026 Alejandro Lopez Monzon <alejandro@kreaker.dev> for Kreaker Developments */
 package dev.kreaker.cnc.domain.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import dev.kreaker.cnc.domain.entity.AlCatalogTwostepId;
 import dev.kreaker.cnc.domain.entity.RvCatalogos;
+import dev.kreaker.cnc.domain.model.CatalogFacetCount;
+import dev.kreaker.cnc.domain.model.CatalogRowView;
+
+import jakarta.persistence.QueryHint;
 
 @Repository
 public interface RvCatalogosRepository extends JpaRepository<RvCatalogos, Long> {
 
+   String VIEW_SELECT = "SELECT new dev.kreaker.cnc.domain.model.CatalogRowView("
+            + "c.id, c.sbsNo, c.modulo, c.campo, c.valor, c.descripcion, c.orden, c.activo, "
+            + "c.fechaCreacion, c.fechaModificacion) FROM RvCatalogos c";
+
    List<RvCatalogos> findByActivoOrderByOrden(Integer activo);
 
    List<RvCatalogos> findByActivoAndModuloOrderByOrden(Integer activo, String modulo);
 
    List<RvCatalogos> findByActivoAndCampoOrderByOrden(Integer activo, String campo);
 
-   @Query("SELECT c FROM RvCatalogos c WHERE c.activo = 1 "
-            + "AND (:modulo IS NULL OR c.modulo = :modulo) "
-            + "AND (:campo IS NULL OR c.campo = :campo) "
-            + "AND (:sbsNo IS NULL OR c.sbsNo = :sbsNo) " + "ORDER BY c.orden")
-   List<RvCatalogos> findActiveWithFilters(@Param("modulo") String modulo,
-            @Param("campo") String campo, @Param("sbsNo") Integer sbsNo);
+   long countByModuloAndCampoAndValorAndSbsNo(String modulo, String campo, String valor,
+            Integer sbsNo);
+
+   /**
+    * Every row as a read-only projection (snapshot load)
+    */
+   @Query(VIEW_SELECT)
+   @QueryHints({@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "COMMIT"),
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000")})
+   List<CatalogRowView> findAllViews();
+
+   /**
+    * Rows created or modified since the watermark, as read-only projections (snapshot deltas)
+    */
+   @Query(VIEW_SELECT + " WHERE c.fechaCreacion >= :since OR c.fechaModificacion >= :since")
+   @QueryHints({@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "COMMIT")})
+   List<CatalogRowView> findViewsChangedSince(@Param("since") LocalDateTime since);
+
+   @Query("SELECT c.modulo AS modulo, c.campo AS campo, c.sbsNo AS sbsNo, COUNT(c) AS total "
+            + "FROM RvCatalogos c GROUP BY c.modulo, c.campo, c.sbsNo")
+   List<CatalogFacetCount> countByFacet();
+
+   /**
+    * Natural keys of all rows in the given modulos and campos (superset used by bulk imports)
+    */
+   @Query("SELECT new dev.kreaker.cnc.domain.entity.AlCatalogTwostepId("
+            + "c.modulo, c.campo, c.valor, c.sbsNo) "
+            + "FROM RvCatalogos c WHERE c.modulo IN :modulos AND c.campo IN :campos")
+   List<AlCatalogTwostepId> findKeys(@Param("modulos") Collection<String> modulos,
+            @Param("campos") Collection<String> campos);
 }
@@ -0,0 +1,337 @@
+/* (c) 2026 Alejandro Lopez Monzon <alejandro@kreaker.dev> for Kreaker Developments */
+package dev.kreaker.cnc.domain.repository;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.function.Consumer;
+
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.query.NativeQuery;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+
+import dev.kreaker.cnc.domain.model.CatalogCriteria;
+import dev.kreaker.cnc.domain.model.CatalogSearchMode;
+import dev.kreaker.cnc.domain.model.CatalogSource;
+import dev.kreaker.cnc.domain.model.UnifiedCatalogRow;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+
+/**
+ * Native queries over RV_CATALOGOS + RV_RPRO_CATALOGO (UNION ALL) joined to the conversion and
+ * target overlays. Filtering, sorting and pagination run in Oracle; pagination uses ROWNUM so it
+ * stays compatible with the Oracle 11g dialect configured in HibernateConfig. The search term is
+ * matched as configured by {@link CatalogSearchMode}.
+ */
+@Repository
+public class UnifiedCatalogRepository {
+
+   private static final String LEGACY_BRANCH = """
+            SELECT 'LEGACY' AS SRC, c.P_ID AS SOURCE_ID, c.SBS_NO, c.MODULO, c.CAMPO, c.VALOR,
+                   c.DESCRIPCION, c.ORDEN, c.ACTIVO, CAST(NULL AS NUMBER) AS PADRE_SID
+            FROM {h-schema}RV_CATALOGOS c
+            WHERE c.ACTIVO = 1""";
+
+   private static final String RPRO_BRANCH = """
+            SELECT 'RPRO' AS SRC, c.RPRO_SID AS SOURCE_ID, c.SBS_NO, c.MODULO, c.CAMPO, c.VALOR,
+                   c.DESCRIPCION, c.ORDEN, c.ACTIVO, c.PADRE_SID
+            FROM {h-schema}RV_RPRO_CATALOGO c
+            WHERE c.ACTIVO = 1""";
+
+   private static final String SELECT_COLUMNS = """
+            SELECT u.SRC, u.SOURCE_ID, u.SBS_NO, u.MODULO, u.CAMPO, u.VALOR, u.DESCRIPCION,
+                   u.ORDEN, u.ACTIVO, u.PADRE_SID,
+                   CASE WHEN t.MODULO IS NULL THEN 0 ELSE 1 END AS HAS_CONVERSION,
+                   t.DOMAIN, t.STATUS,
+                   CASE WHEN g.MODULO IS NULL THEN 0 ELSE 1 END AS HAS_TARGET,
+                   g.SRCTABLE, g.SRCFIELD
+            """;
+
+   private static final String JOIN_CONVERSIONS = """
+            LEFT JOIN {h-schema}AL_CATALOG_TWOSTEP t
+                   ON t.MODULO = u.MODULO AND t.CAMPO = u.CAMPO
+                  AND t.VALOR = u.VALOR AND t.CADENA = u.SBS_NO
+            """;
+
+   private static final String JOIN_TARGETS = """
+            LEFT JOIN {h-schema}AL_CATALOG_TARGETS g
+                   ON g.MODULO = u.MODULO AND g.CAMPO = u.CAMPO
+                  AND g.VALOR = u.VALOR AND g.CADENA = u.SBS_NO
+            """;
+
+   // Oracle Text operators; as words of a query they would be parsed as syntax
+   private static final Set<String> TEXT_RESERVED_WORDS = Set.of("ABOUT", "ACCUM", "AND", "BT",
+            "BTG", "BTI", "BTP", "EQUIV", "FUZZY", "HASPATH", "INPATH", "MDATA", "MINUS", "NEAR",
+            "NOT", "NT", "NTG", "NTI", "NTP", "OR", "PT", "RT", "SDATA", "SQE", "SYN", "TR",
+            "TRSYN", "TT", "WITHIN");
+
+   // Same ordering as the former in-memory sort; SRC/ORDEN/SOURCE_ID keep pages deterministic
+   private static final String ORDER_BY =
+            "ORDER BY u.MODULO, u.CAMPO, u.VALOR, u.SRC, u.ORDEN, u.SOURCE_ID";
+
+   /**
+    * {@link #ORDER_BY} in Java, for merging per-source results. Matches Oracle because every
+    * pooled connection sets NLS_SORT=BINARY (spring.datasource.hikari.connection-init-sql), the
+    * order the snapshot uses too; NULL sorts last as in Oracle.
+    */
+   public static final Comparator<UnifiedCatalogRow> PAGE_ORDER = Comparator
+            .comparing(UnifiedCatalogRow::modulo, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(UnifiedCatalogRow::campo,
+                     Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(UnifiedCatalogRow::valor,
+                     Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(row -> row.source().name())
+            .thenComparing(UnifiedCatalogRow::orden,
+                     Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(UnifiedCatalogRow::sourceId,
+                     Comparator.nullsLast(Comparator.naturalOrder()));
+
+   @PersistenceContext
+   private EntityManager entityManager;
+
+   @Value("${cnc.catalog.search.mode:CONTAINS}")
+   private CatalogSearchMode searchMode;
+
+   // Shorter TEXT words would expand to too many index terms; they use the substring match
+   @Value("${cnc.catalog.search.text.min-prefix:3}")
+   private int textMinPrefix;
+
+   /**
+    * Fetch one page (zero-based offset) of the unified catalog
+    */
+   public List<UnifiedCatalogRow> findPage(CatalogCriteria criteria, long offset, int pageSize) {
+      if (!criteria.includes(CatalogSource.LEGACY) && !criteria.includes(CatalogSource.RPRO)) {
+         return List.of();
+      }
+
+      Map<String, Object> params = new LinkedHashMap<>();
+      String sql = "SELECT * FROM (SELECT p.*, ROWNUM AS RN FROM (" + buildSelect(criteria, params)
+               + ") p WHERE ROWNUM <= :lastRow) WHERE RN > :firstRow";
+      params.put("lastRow", offset + pageSize);
+      params.put("firstRow", offset);
+
+      return mapRows(createQuery(sql, params).getResultList());
+   }
+
+   /**
+    * Fetch every matching row, in page order
+    */
+   public List<UnifiedCatalogRow> findAll(CatalogCriteria criteria) {
+      if (!criteria.includes(CatalogSource.LEGACY) && !criteria.includes(CatalogSource.RPRO)) {
+         return List.of();
+      }
+
+      Map<String, Object> params = new LinkedHashMap<>();
+      return mapRows(createQuery(buildSelect(criteria, params), params).getResultList());
+   }
+
+   /**
+    * Fetch the matching rows of one source, in page order. Sources fetched this way can run on
+    * separate connections at the same time and be merged with {@link #PAGE_ORDER}.
+    */
+   public List<UnifiedCatalogRow> findAll(CatalogCriteria criteria, CatalogSource source) {
+      if (!criteria.includes(source)) {
+         return List.of();
+      }
+
+      Map<String, Object> params = new LinkedHashMap<>();
+      String sql = buildSelect(buildBranch(source, criteria, params), criteria);
+      return mapRows(createQuery(sql, params).getResultList());
+   }
+
+   /**
+    * Count the rows matching the criteria
+    */
+   public long count(CatalogCriteria criteria) {
+      if (!criteria.includes(CatalogSource.LEGACY) && !criteria.includes(CatalogSource.RPRO)) {
+         return 0;
+      }
+
+      Map<String, Object> params = new LinkedHashMap<>();
+      StringBuilder sql = new StringBuilder("SELECT COUNT(*) FROM (")
+               .append(buildUnion(criteria, params)).append(") u\n");
+      // The conversion join is only needed when filtering on it
+      if (criteria.hasConversion() != null) {
+         sql.append(JOIN_CONVERSIONS);
+         appendConversionFilter(sql, criteria);
+      }
+
+      Object result = createQuery(sql.toString(), params).getSingleResult();
+      return ((Number) result).longValue();
+   }
+
+   /**
+    * Stream every matching row through a forward-only cursor, in page order. Must run inside a
+    * transaction so the connection stays open while the rows are consumed.
+    *
+    * @return number of rows read
+    */
+   @SuppressWarnings("unchecked")
+   public long scroll(CatalogCriteria criteria, int fetchSize, Consumer<UnifiedCatalogRow> action) {
+      if (!criteria.includes(CatalogSource.LEGACY) && !criteria.includes(CatalogSource.RPRO)) {
+         return 0;
+      }
+
+      Map<String, Object> params = new LinkedHashMap<>();
+      NativeQuery<Object[]> query = createQuery(buildSelect(criteria, params), params)
+               .unwrap(NativeQuery.class);
+      query.setFetchSize(fetchSize);
+      query.setReadOnly(true);
+
+      long count = 0;
+      try (ScrollableResults<Object[]> results = query.scroll(ScrollMode.FORWARD_ONLY)) {
+         while (results.next()) {
+            action.accept(mapRow(results.get()));
+            count++;
+         }
+      }
+      return count;
+   }
+
+   private String buildSelect(CatalogCriteria criteria, Map<String, Object> params) {
+      return buildSelect(buildUnion(criteria, params), criteria);
+   }
+
+   private String buildSelect(String union, CatalogCriteria criteria) {
+      StringBuilder sql = new StringBuilder(SELECT_COLUMNS).append("FROM (").append(union)
+               .append(") u\n").append(JOIN_CONVERSIONS).append(JOIN_TARGETS);
+      appendConversionFilter(sql, criteria);
+      sql.append(ORDER_BY);
+      return sql.toString();
+   }
+
+   private String buildUnion(CatalogCriteria criteria, Map<String, Object> params) {
+      List<String> branches = new ArrayList<>(2);
+      if (criteria.includes(CatalogSource.LEGACY)) {
+         branches.add(buildBranch(CatalogSource.LEGACY, criteria, params));
+      }
+      if (criteria.includes(CatalogSource.RPRO)) {
+         branches.add(buildBranch(CatalogSource.RPRO, criteria, params));
+      }
+      return String.join("\nUNION ALL\n", branches);
+   }
+
+   private String buildBranch(CatalogSource source, CatalogCriteria criteria,
+            Map<String, Object> params) {
+      return (source == CatalogSource.LEGACY ? LEGACY_BRANCH : RPRO_BRANCH)
+               + buildBranchFilter(criteria, params);
+   }
+
+   /**
+    * Filters are pushed into each branch so Oracle can use the indexes on the base tables
+    */
+   private String buildBranchFilter(CatalogCriteria criteria, Map<String, Object> params) {
+      StringBuilder where = new StringBuilder();
+      if (criteria.modulo() != null) {
+         where.append(" AND c.MODULO = :modulo");
+         params.put("modulo", criteria.modulo());
+      }
+      if (criteria.campo() != null) {
+         where.append(" AND c.CAMPO = :campo");
+         params.put("campo", criteria.campo());
+      }
+      if (criteria.sbsNo() != null) {
+         where.append(" AND c.SBS_NO = :sbsNo");
+         params.put("sbsNo", criteria.sbsNo());
+      }
+      if (criteria.hasSearchTerm()) {
+         appendSearchFilter(where, criteria.searchTerm(), params);
+      }
+      return where.toString();
+   }
+
+   private void appendSearchFilter(StringBuilder where, String searchTerm,
+            Map<String, Object> params) {
+      String textQuery = searchMode == CatalogSearchMode.TEXT ? toTextQuery(searchTerm) : null;
+      if (textQuery != null) {
+         // CONTEXT index on DESCRIPCION with a multi-column datastore over all four columns
+         where.append(" AND CONTAINS(c.DESCRIPCION, :search) > 0");
+         params.put("search", textQuery);
+      } else if (searchMode == CatalogSearchMode.PREFIX) {
+         where.append(" AND (UPPER(c.MODULO) LIKE :search ESCAPE '\\'")
+                  .append(" OR UPPER(c.CAMPO) LIKE :search ESCAPE '\\'")
+                  .append(" OR UPPER(c.VALOR) LIKE :search ESCAPE '\\'")
+                  .append(" OR UPPER(c.DESCRIPCION) LIKE :search ESCAPE '\\')");
+         params.put("search", escapeLike(searchTerm.toUpperCase(Locale.ROOT)) + "%");
+      } else {
+         where.append(" AND (LOWER(c.MODULO) LIKE :search ESCAPE '\\'")
+                  .append(" OR LOWER(c.CAMPO) LIKE :search ESCAPE '\\'")
+                  .append(" OR LOWER(c.VALOR) LIKE :search ESCAPE '\\'")
+                  .append(" OR LOWER(c.DESCRIPCION) LIKE :search ESCAPE '\\')");
+         params.put("search", "%" + escapeLike(searchTerm) + "%");
+      }
+   }
+
+   /**
+    * Oracle Text query requiring every word of the term as a word prefix ("red shi" becomes
+    * "red% AND shi%"). Characters the lexer treats as separators or operators are dropped. Returns
+    * null, so the caller falls back to a substring match, when nothing searchable is left or a
+    * word is an operator (AND, NEAR, ...) or shorter than the minimum prefix, whose expansion
+    * could exceed the wildcard limit. The index uses an empty stoplist, so no word is dropped.
+    */
+   private String toTextQuery(String searchTerm) {
+      StringJoiner query = new StringJoiner(" AND ");
+      for (String word : searchTerm.split("[^\\p{L}\\p{N}]+")) {
+         if (word.isEmpty()) {
+            continue;
+         }
+         if (word.length() < textMinPrefix
+                  || TEXT_RESERVED_WORDS.contains(word.toUpperCase(Locale.ROOT))) {
+            return null;
+         }
+         query.add(word + "%");
+      }
+      return query.length() > 0 ? query.toString() : null;
+   }
+
+   private void appendConversionFilter(StringBuilder sql, CatalogCriteria criteria) {
+      if (criteria.hasConversion() != null) {
+         sql.append(criteria.hasConversion() ? "WHERE t.MODULO IS NOT NULL\n"
+                  : "WHERE t.MODULO IS NULL\n");
+      }
+   }
+
+   private Query createQuery(String sql, Map<String, Object> params) {
+      Query query = entityManager.createNativeQuery(sql);
+      params.forEach(query::setParameter);
+      return query;
+   }
+
+   private static String escapeLike(String value) {
+      return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+   }
+
+   @SuppressWarnings("unchecked")
+   private static List<UnifiedCatalogRow> mapRows(List<?> rows) {
+      List<UnifiedCatalogRow> result = new ArrayList<>(rows.size());
+      for (Object[] r : (List<Object[]>) rows) {
+         result.add(mapRow(r));
+      }
+      return result;
+   }
+
+   private static UnifiedCatalogRow mapRow(Object[] r) {
+      return new UnifiedCatalogRow(CatalogSource.valueOf(((String) r[0]).trim()), toLong(r[1]),
+               toInteger(r[2]), (String) r[3], (String) r[4], (String) r[5], (String) r[6],
+               toInteger(r[7]), toInteger(r[8]), toLong(r[9]), toInteger(r[10]) == 1,
+               (String) r[11], toInteger(r[12]), toInteger(r[13]) == 1, (String) r[14],
+               (String) r[15]);
+   }
+
+   private static Long toLong(Object value) {
+      return value != null ? ((Number) value).longValue() : null;
+   }
+
+   private static Integer toInteger(Object value) {
+      return value != null ? ((Number) value).intValue() : null;
+   }
+}
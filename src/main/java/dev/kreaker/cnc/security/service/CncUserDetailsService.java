@@ -1,6 +1,9 @@
 /* (c) 2026 Alejandro Lopez Monzon <alejandro@kreaker.dev> for Kreaker Developments */
 package dev.kreaker.cnc.security.service;
 
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -17,12 +20,20 @@ public class CncUserDetailsService implements UserDetailsService {
 
    private final UserRepository userRepository;
 
+   // Usernames granted ROLE_ADMIN (maintenance actions such as cache refresh)
+   @Value("${cnc.admin.users:}")
+   private Set<String> adminUsers;
+
    @Override
    public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
       var cncUser = userRepository.findByUsername(username)
                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
 
       return User.builder().username(cncUser.getUsername()).password(cncUser.getPassword())
-               .disabled(!cncUser.isEnabled()).authorities("ROLE_USER").build();
+               .disabled(!cncUser.isEnabled())
+               .authorities(adminUsers.contains(cncUser.getUsername())
+                        ? new String[] {"ROLE_USER", "ROLE_ADMIN"}
+                        : new String[] {"ROLE_USER"})
+               .build();
    }
 }
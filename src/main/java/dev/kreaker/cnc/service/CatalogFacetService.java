@@ -0,0 +1,101 @@
+/* (c) 2026 Alejandro Lopez Monzon <alejandro@kreaker.dev> for Kreaker Developments */
+package dev.kreaker.cnc.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import dev.kreaker.cnc.domain.model.CatalogFacetCount;
+import dev.kreaker.cnc.domain.repository.RvCatalogosRepository;
+import dev.kreaker.cnc.domain.repository.RvRproCatalogoRepository;
+import dev.kreaker.cnc.service.dto.CatalogFacetsDTO;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Cached facet index (modulos, campos, sbsNos and campos by modulo) for the catalog filters. Built
+ * from two GROUP BY projection queries and invalidated whenever catalogs are written.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class CatalogFacetService {
+
+   private final RvCatalogosRepository catalogosRepository;
+   private final RvRproCatalogoRepository rproCatalogoRepository;
+
+   @Value("${cnc.catalog.facets.ttl:PT5M}")
+   private Duration ttl;
+
+   private volatile CachedFacets cached;
+   // Bumped on every invalidation; a rebuild that started before one is not published
+   private final AtomicLong generation = new AtomicLong();
+
+   public CatalogFacetsDTO getFacets() {
+      CachedFacets current = cached;
+      if (current == null || Instant.now().isAfter(current.expiresAt())) {
+         long startedAt = generation.get();
+         current = new CachedFacets(buildFacets(), Instant.now().plus(ttl));
+         publish(current, startedAt);
+      }
+      return current.facets();
+   }
+
+   /**
+    * Drop the cached facets so the next request rebuilds them
+    */
+   public synchronized void invalidate() {
+      generation.incrementAndGet();
+      cached = null;
+   }
+
+   private synchronized void publish(CachedFacets facets, long startedAt) {
+      if (generation.get() == startedAt) {
+         cached = facets;
+      }
+   }
+
+   private CatalogFacetsDTO buildFacets() {
+      Map<String, Long> modulos = new TreeMap<>();
+      Map<String, Long> campos = new TreeMap<>();
+      Map<Integer, Long> sbsNos = new TreeMap<>();
+      Map<String, Set<String>> camposByModulo = new TreeMap<>();
+
+      List<CatalogFacetCount> counts = new ArrayList<>(catalogosRepository.countByFacet());
+      counts.addAll(rproCatalogoRepository.countByFacet());
+
+      for (CatalogFacetCount count : counts) {
+         long total = count.getTotal() != null ? count.getTotal() : 0L;
+         if (count.getModulo() != null) {
+            modulos.merge(count.getModulo(), total, Long::sum);
+         }
+         if (count.getCampo() != null) {
+            campos.merge(count.getCampo(), total, Long::sum);
+         }
+         if (count.getSbsNo() != null) {
+            sbsNos.merge(count.getSbsNo(), total, Long::sum);
+         }
+         if (count.getModulo() != null && count.getCampo() != null) {
+            camposByModulo.computeIfAbsent(count.getModulo(), _ -> new TreeSet<>())
+                     .add(count.getCampo());
+         }
+      }
+
+      Map<String, List<String>> sortedCamposByModulo = new TreeMap<>();
+      camposByModulo.forEach((modulo, values) -> sortedCamposByModulo.put(modulo,
+               List.copyOf(values)));
+
+      log.debug("Catalog facets rebuilt: {} modulos, {} campos, {} sbsNos", modulos.size(),
+               campos.size(), sbsNos.size());
+      return new CatalogFacetsDTO(Collections.unmodifiableMap(modulos),
+               Collections.unmodifiableMap(campos), Collections.unmodifiableMap(sbsNos),
+               Collections.unmodifiableMap(sortedCamposByModulo));
+   }
+
+   private record CachedFacets(CatalogFacetsDTO facets, Instant expiresAt) {}
+}
@@ -0,0 +1,102 @@
+/* (c) 2026 Alejandro Lopez Monzon <alejandro@kreaker.dev> for Kreaker Developments */
+package dev.kreaker.cnc.service;
+
+import java.util.List;
+import java.util.Locale;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Pooled P_ID allocator for RV_CATALOGOS. IDs are handed out from an in-memory block so bulk imports
+ * only hit the database once per block.
+ *
+ * <p>
+ * Each block is reserved with one NEXTVAL of the Oracle sequence {@code cnc.catalog.id.sequence},
+ * whose INCREMENT BY must equal the block size. NEXTVAL is atomic across sessions, so blocks
+ * never overlap between app nodes or other writers using the same sequence.
+ */
+@Component
+@Slf4j
+public class CatalogIdAllocator {
+
+   @PersistenceContext
+   private EntityManager entityManager;
+
+   @Value("${cnc.catalog.id.sequence:REPORTUSER.RV_CATALOGOS_SEQ}")
+   private String sequenceName;
+
+   @Value("${cnc.catalog.id.block-size:50}")
+   private int blockSize;
+
+   private long nextId;
+   private long blockEnd;
+   private boolean verified;
+
+   @PostConstruct
+   void init() {
+      if (sequenceName == null || sequenceName.isBlank()) {
+         throw new IllegalStateException("cnc.catalog.id.sequence must name the Oracle sequence "
+                  + "reserving RV_CATALOGOS id blocks");
+      }
+      log.info("RV_CATALOGOS ids allocated from sequence {} in blocks of {}", sequenceName,
+               blockSize);
+      try {
+         verifyIncrement();
+      } catch (IllegalStateException e) {
+         throw e;
+      } catch (RuntimeException e) {
+         // Database not reachable yet; checked again before the first block
+         log.warn("Could not check sequence {} at startup: {}", sequenceName, e.getMessage());
+      }
+   }
+
+   public synchronized long nextId() {
+      if (nextId >= blockEnd) {
+         reserveBlock();
+      }
+      return nextId++;
+   }
+
+   private void reserveBlock() {
+      if (!verified) {
+         verifyIncrement();
+      }
+      Object value = entityManager
+               .createNativeQuery("SELECT " + sequenceName + ".NEXTVAL FROM DUAL")
+               .getSingleResult();
+      nextId = ((Number) value).longValue();
+      blockEnd = nextId + blockSize;
+      log.debug("Reserved RV_CATALOGOS id block [{}, {})", nextId, blockEnd);
+   }
+
+   /**
+    * A sequence stepping by less than the block size would hand overlapping blocks to the nodes
+    */
+   private void verifyIncrement() {
+      int dot = sequenceName.lastIndexOf('.');
+      String owner = dot > 0 ? sequenceName.substring(0, dot).toUpperCase(Locale.ROOT) : null;
+      String name = sequenceName.substring(dot + 1).toUpperCase(Locale.ROOT);
+
+      List<?> increments = entityManager
+               .createNativeQuery("SELECT INCREMENT_BY FROM ALL_SEQUENCES"
+                        + " WHERE SEQUENCE_OWNER = NVL(:owner, USER) AND SEQUENCE_NAME = :name")
+               .setParameter("owner", owner).setParameter("name", name).getResultList();
+      if (increments.isEmpty()) {
+         throw new IllegalStateException("Sequence " + sequenceName + " not found; create it with "
+                  + "INCREMENT BY " + blockSize + " (see README, RV_CATALOGOS Id Allocation)");
+      }
+      long increment = ((Number) increments.getFirst()).longValue();
+      if (increment != blockSize) {
+         throw new IllegalStateException("Sequence " + sequenceName + " has INCREMENT BY "
+                  + increment + " but cnc.catalog.id.block-size is " + blockSize
+                  + "; id blocks would overlap");
+      }
+      verified = true;
+   }
+}
@@ -0,0 +1,57 @@
+/* (c) 2026 Alejandro Lopez Monzon <alejandro@kreaker.dev> for Kreaker Developments */
+package dev.kreaker.cnc.service;
+
+import java.util.Optional;
+
+import org.springframework.stereotype.Component;
+
+import dev.kreaker.cnc.domain.model.CatalogSource;
+import dev.kreaker.cnc.domain.repository.RvCatalogosRepository;
+import dev.kreaker.cnc.domain.repository.RvRproCatalogoRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Shared (modulo, campo, valor, sbsNo) lookup for the LEGACY and RPRO catalogs. Answers from the
+ * hash index held by {@link CatalogSnapshot} when it is loaded, otherwise with an indexed COUNT
+ * point query instead of scanning the tables.
+ */
+@Component
+@RequiredArgsConstructor
+public class CatalogKeyIndex {
+
+   private final RvCatalogosRepository catalogosRepository;
+   private final RvRproCatalogoRepository rproCatalogoRepository;
+   private final CatalogSnapshot catalogSnapshot;
+
+   public boolean existsIn(CatalogSource source, String modulo, String campo, String valor,
+            Integer sbsNo) {
+      if (catalogSnapshot.isReady()) {
+         return catalogSnapshot.contains(source, modulo, campo, valor, sbsNo);
+      }
+      long count = source == CatalogSource.LEGACY
+               ? catalogosRepository.countByModuloAndCampoAndValorAndSbsNo(modulo, campo, valor,
+                        sbsNo)
+               : rproCatalogoRepository.countByModuloAndCampoAndValorAndSbsNo(modulo, campo, valor,
+                        sbsNo);
+      return count > 0;
+   }
+
+   public boolean exists(String modulo, String campo, String valor, Integer sbsNo) {
+      return findSource(modulo, campo, valor, sbsNo).isPresent();
+   }
+
+   /**
+    * Source that holds the key, LEGACY taking precedence over RPRO
+    */
+   public Optional<CatalogSource> findSource(String modulo, String campo, String valor,
+            Integer sbsNo) {
+      if (existsIn(CatalogSource.LEGACY, modulo, campo, valor, sbsNo)) {
+         return Optional.of(CatalogSource.LEGACY);
+      }
+      if (existsIn(CatalogSource.RPRO, modulo, campo, valor, sbsNo)) {
+         return Optional.of(CatalogSource.RPRO);
+      }
+      return Optional.empty();
+   }
+}
@@ -0,0 +1,73 @@
+/* (c) 2026 Alejandro Lopez Monzon <alejandro@kreaker.dev> for Kreaker Developments */
+package dev.kreaker.cnc.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import dev.kreaker.cnc.domain.repository.AlCatalogTargetsRepository;
+import dev.kreaker.cnc.domain.repository.AlCatalogTwostepRepository;
+import dev.kreaker.cnc.domain.repository.RvCatalogosRepository;
+import dev.kreaker.cnc.domain.repository.RvRproCatalogoRepository;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Row count gauges of the catalog, conversion and target tables. Counts are taken from the
+ * snapshot when it is loaded, otherwise from COUNT(*) queries, and refreshed on a schedule so a
+ * scrape never hits Oracle.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class CatalogMetrics implements MeterBinder {
+
+   private final RvCatalogosRepository catalogosRepository;
+   private final RvRproCatalogoRepository rproCatalogoRepository;
+   private final AlCatalogTwostepRepository conversionRepository;
+   private final AlCatalogTargetsRepository targetsRepository;
+   private final CatalogSnapshot catalogSnapshot;
+
+   private final AtomicLong legacyRows = new AtomicLong();
+   private final AtomicLong rproRows = new AtomicLong();
+   private final AtomicLong conversionRows = new AtomicLong();
+   private final AtomicLong targetRows = new AtomicLong();
+
+   @Override
+   public void bindTo(MeterRegistry registry) {
+      register(registry, "RV_CATALOGOS", legacyRows);
+      register(registry, "RV_RPRO_CATALOGO", rproRows);
+      register(registry, "AL_CATALOG_TWOSTEP", conversionRows);
+      register(registry, "AL_CATALOG_TARGETS", targetRows);
+   }
+
+   @Scheduled(fixedDelayString = "${cnc.metrics.row-counts.interval:300000}",
+            initialDelayString = "${cnc.metrics.row-counts.initial-delay:60000}")
+   public void refreshRowCounts() {
+      try {
+         catalogSnapshot.rowCounts().ifPresentOrElse(counts -> {
+            legacyRows.set(counts.legacy());
+            rproRows.set(counts.rpro());
+            conversionRows.set(counts.conversions());
+            targetRows.set(counts.targets());
+         }, () -> {
+            legacyRows.set(catalogosRepository.count());
+            rproRows.set(rproCatalogoRepository.count());
+            conversionRows.set(conversionRepository.count());
+            targetRows.set(targetsRepository.count());
+         });
+      } catch (RuntimeException e) {
+         log.warn("Could not refresh table row count metrics: {}", e.getMessage());
+      }
+   }
+
+   private static void register(MeterRegistry registry, String table, AtomicLong rows) {
+      Gauge.builder("cnc.table.rows", rows, AtomicLong::get).tag("table", table)
+               .description("Rows in the table, refreshed periodically").register(registry);
+   }
+}
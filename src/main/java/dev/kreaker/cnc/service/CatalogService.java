@@ -3,27 +3,33 @@ package dev.kreaker.cnc.service;
 
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.function.Function;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import dev.kreaker.cnc.domain.entity.AlCatalogTargets;
-import dev.kreaker.cnc.domain.entity.AlCatalogTwostep;
 import dev.kreaker.cnc.domain.entity.AlCatalogTwostepId;
 import dev.kreaker.cnc.domain.entity.RvCatalogos;
 import dev.kreaker.cnc.domain.entity.RvRproCatalogo;
+import dev.kreaker.cnc.domain.model.CatalogCriteria;
 import dev.kreaker.cnc.domain.model.CatalogSource;
+import dev.kreaker.cnc.domain.model.UnifiedCatalogRow;
 import dev.kreaker.cnc.domain.repository.AlCatalogTargetsRepository;
 import dev.kreaker.cnc.domain.repository.AlCatalogTwostepRepository;
 import dev.kreaker.cnc.domain.repository.RvCatalogosRepository;
 import dev.kreaker.cnc.domain.repository.RvRproCatalogoRepository;
+import dev.kreaker.cnc.domain.repository.UnifiedCatalogRepository;
 import dev.kreaker.cnc.service.dto.CatalogFilterDTO;
 import dev.kreaker.cnc.service.dto.CatalogItemDTO;
+import dev.kreaker.cnc.service.index.KWayMerge;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -32,136 +38,101 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class CatalogService {
 
+   // Timer of the service hot paths, tagged with class and method by the TimedAspect
+   public static final String TIMER = "cnc.service";
+
    private final RvCatalogosRepository catalogosRepository;
    private final RvRproCatalogoRepository rproCatalogoRepository;
    private final AlCatalogTwostepRepository conversionRepository;
    private final AlCatalogTargetsRepository targetsRepository;
+   private final UnifiedCatalogRepository unifiedCatalogRepository;
+   private final CatalogSnapshot catalogSnapshot;
+   private final CatalogFacetService catalogFacetService;
+   private final CatalogKeyIndex catalogKeyIndex;
+   private final CatalogIdAllocator catalogIdAllocator;
+   private final ParallelFetch parallelFetch;
 
-   public List<CatalogItemDTO> getUnifiedCatalog(CatalogFilterDTO filter) {
-      List<CatalogItemDTO> result = new ArrayList<>();
+   // Rows per round trip when streaming exports from the database
+   @Value("${cnc.export.fetch-size:1000}")
+   private int exportFetchSize;
 
-      if (filter.getSource() == null || filter.getSource() == CatalogSource.LEGACY) {
-         List<RvCatalogos> legacyCatalogs = catalogosRepository
-                  .findActiveWithFilters(filter.getModulo(), filter.getCampo(), filter.getSbsNo());
-         result.addAll(mapLegacyToDTO(legacyCatalogs));
-      }
+   /**
+    * Stream the unified catalog row by row from a forward-only cursor, for exports that must not
+    * hold the whole result in memory
+    *
+    * @return number of items streamed
+    */
+   @Transactional(readOnly = true)
+   public long forEachUnifiedCatalogItem(CatalogFilterDTO filter,
+            Consumer<CatalogItemDTO> action) {
+      return unifiedCatalogRepository.scroll(filter.toCriteria(), exportFetchSize,
+               row -> action.accept(mapUnifiedRowToDTO(row)));
+   }
 
-      if (filter.getSource() == null || filter.getSource() == CatalogSource.RPRO) {
-         List<RvRproCatalogo> rproCatalogs = rproCatalogoRepository
-                  .findActiveWithFilters(filter.getModulo(), filter.getCampo(), filter.getSbsNo());
-         result.addAll(mapRproToDTO(rproCatalogs));
+   @Timed(CatalogService.TIMER)
+   public List<CatalogItemDTO> getUnifiedCatalog(CatalogFilterDTO filter) {
+      if (catalogSnapshot.isReady()) {
+         return catalogSnapshot.findAll(filter.toCriteria());
       }
 
-      enrichWithConversionData(result);
-
-      if (filter.getHasConversion() != null) {
-         result = result.stream()
-                  .filter(item -> item.isHasConversion() == filter.getHasConversion())
-                  .collect(Collectors.toList());
+      // One query per source at the same time, each already joined to the conversion and target
+      // overlays and sorted by Oracle; merging the sorted lists replaces the UNION ALL sort
+      CatalogCriteria criteria = filter.toCriteria();
+      List<List<UnifiedCatalogRow>> sources;
+      try (ParallelFetch.Fork fork = parallelFetch.fork()) {
+         ParallelFetch.Pending<List<UnifiedCatalogRow>> legacy = fork
+                  .submit(() -> unifiedCatalogRepository.findAll(criteria, CatalogSource.LEGACY));
+         ParallelFetch.Pending<List<UnifiedCatalogRow>> rpro = fork
+                  .submit(() -> unifiedCatalogRepository.findAll(criteria, CatalogSource.RPRO));
+         sources = List.of(fork.join(legacy), fork.join(rpro));
       }
-
-      // Apply text search filter
-      String searchTerm = filter.getSearchTermNormalized();
-      if (searchTerm != null && !searchTerm.isEmpty()) {
-         result = result.stream().filter(item -> matchesSearchTerm(item, searchTerm))
-                  .collect(Collectors.toList());
+      for (List<UnifiedCatalogRow> source : sources) {
+         if (!KWayMerge.isSorted(source, UnifiedCatalogRepository.PAGE_ORDER)) {
+            // Session collation is not binary (connection-init-sql overridden?); sort it here
+            log.warn("Catalog rows not in binary order, check NLS_SORT on the Oracle sessions");
+            source.sort(UnifiedCatalogRepository.PAGE_ORDER);
+         }
       }
 
-      result.sort(Comparator
-               .comparing(CatalogItemDTO::getModulo,
-                        Comparator.nullsLast(Comparator.naturalOrder()))
-               .thenComparing(CatalogItemDTO::getCampo,
-                        Comparator.nullsLast(Comparator.naturalOrder()))
-               .thenComparing(CatalogItemDTO::getValor,
-                        Comparator.nullsLast(Comparator.naturalOrder())));
-
-      return result;
-   }
-
-   private boolean matchesSearchTerm(CatalogItemDTO item, String searchTerm) {
-      // Search in modulo, campo, valor, and descripcion (case-insensitive)
-      return containsIgnoreCase(item.getModulo(), searchTerm)
-               || containsIgnoreCase(item.getCampo(), searchTerm)
-               || containsIgnoreCase(item.getValor(), searchTerm)
-               || containsIgnoreCase(item.getDescripcion(), searchTerm);
-   }
-
-   private boolean containsIgnoreCase(String text, String searchTerm) {
-      if (text == null) {
-         return false;
-      }
-      return text.toLowerCase().contains(searchTerm);
+      return KWayMerge.merge(sources, UnifiedCatalogRepository.PAGE_ORDER).stream()
+               .map(this::mapUnifiedRowToDTO).collect(Collectors.toList());
    }
 
+   @Timed(CatalogService.TIMER)
    public Page<CatalogItemDTO> getUnifiedCatalogPage(CatalogFilterDTO filter, Pageable pageable) {
-      // Get all catalogs with filters applied
-      List<CatalogItemDTO> allItems = getUnifiedCatalog(filter);
-
-      // Calculate pagination parameters
-      int totalElements = allItems.size();
-      int start = (int) pageable.getOffset();
-      int end = Math.min(start + pageable.getPageSize(), totalElements);
+      if (catalogSnapshot.isReady()) {
+         return catalogSnapshot.findPage(filter.toCriteria(), pageable);
+      }
 
-      // Get the sublist for the current page
-      List<CatalogItemDTO> pageContent =
-               start >= totalElements ? Collections.emptyList() : allItems.subList(start, end);
+      // Filtering, sorting and pagination run in Oracle; only the requested page is fetched
+      // The count and the page are independent, so both round trips overlap
+      CatalogCriteria criteria = filter.toCriteria();
+      long totalElements;
+      List<UnifiedCatalogRow> pageRows;
+      try (ParallelFetch.Fork fork = parallelFetch.fork()) {
+         ParallelFetch.Pending<Long> count =
+                  fork.submit(() -> unifiedCatalogRepository.count(criteria));
+         ParallelFetch.Pending<List<UnifiedCatalogRow>> page = fork.submit(() ->
+                  unifiedCatalogRepository.findPage(criteria, pageable.getOffset(),
+                           pageable.getPageSize()));
+         totalElements = fork.join(count);
+         pageRows = fork.join(page);
+      }
 
-      // Return a Page object
+      List<CatalogItemDTO> pageContent = pageRows.stream().map(this::mapUnifiedRowToDTO)
+               .collect(Collectors.toList());
       return new PageImpl<>(pageContent, pageable, totalElements);
    }
 
-   public Set<String> getDistinctModulos() {
-      Set<String> modulos = new HashSet<>();
-      modulos.addAll(catalogosRepository.findAll().stream().map(RvCatalogos::getModulo)
-               .filter(Objects::nonNull).collect(Collectors.toSet()));
-      modulos.addAll(rproCatalogoRepository.findAll().stream().map(RvRproCatalogo::getModulo)
-               .filter(Objects::nonNull).collect(Collectors.toSet()));
-      return modulos;
-   }
-
-   public Set<String> getDistinctCampos() {
-      Set<String> campos = new HashSet<>();
-      campos.addAll(catalogosRepository.findAll().stream().map(RvCatalogos::getCampo)
-               .filter(Objects::nonNull).collect(Collectors.toSet()));
-      campos.addAll(rproCatalogoRepository.findAll().stream().map(RvRproCatalogo::getCampo)
-               .filter(Objects::nonNull).collect(Collectors.toSet()));
-      return campos;
-   }
-
-   public Set<Integer> getDistinctSbsNos() {
-      Set<Integer> sbsNos = new HashSet<>();
-      sbsNos.addAll(catalogosRepository.findAll().stream().map(RvCatalogos::getSbsNo)
-               .filter(Objects::nonNull).collect(Collectors.toSet()));
-      sbsNos.addAll(rproCatalogoRepository.findAll().stream().map(RvRproCatalogo::getSbsNo)
-               .filter(Objects::nonNull).collect(Collectors.toSet()));
-      return sbsNos;
-   }
-
-   public Map<String, List<String>> getCamposByModulo() {
-      Map<String, Set<String>> tempMap = new HashMap<>();
-
-      // Process legacy catalogs
-      catalogosRepository.findAll().forEach(cat -> {
-         if (cat.getModulo() != null && cat.getCampo() != null) {
-            tempMap.computeIfAbsent(cat.getModulo(), _ -> new HashSet<>()).add(cat.getCampo());
-         }
-      });
-
-      // Process RPRO catalogs
-      rproCatalogoRepository.findAll().forEach(cat -> {
-         if (cat.getModulo() != null && cat.getCampo() != null) {
-            tempMap.computeIfAbsent(cat.getModulo(), _ -> new HashSet<>()).add(cat.getCampo());
-         }
-      });
-
-      // Convert to sorted lists
-      Map<String, List<String>> result = new HashMap<>();
-      tempMap.forEach((modulo, campos) -> {
-         List<String> sortedCampos = campos.stream().sorted().collect(Collectors.toList());
-         result.put(modulo, sortedCampos);
-      });
-
-      return result;
+   /**
+    * Search box type-ahead within the current filter; empty until the snapshot is loaded
+    */
+   public List<String> suggest(CatalogFilterDTO filter, int limit) {
+      CatalogCriteria criteria = filter.toCriteria();
+      if (!catalogSnapshot.isReady() || !criteria.hasSearchTerm()) {
+         return List.of();
+      }
+      return catalogSnapshot.suggest(criteria, limit);
    }
 
    public Optional<CatalogItemDTO> getCatalogItem(CatalogSource source, Long id) {
@@ -193,7 +164,7 @@ public class CatalogService {
       validateNotInRpro(dto.getModulo(), dto.getCampo(), dto.getValor(), dto.getSbsNo());
 
       RvCatalogos entity = new RvCatalogos();
-      entity.setId(generateNextId());
+      entity.setId(catalogIdAllocator.nextId());
       entity.setSbsNo(Objects.requireNonNullElse(dto.getSbsNo(), 1));
       entity.setModulo(dto.getModulo());
       entity.setCampo(dto.getCampo());
@@ -209,6 +180,8 @@ public class CatalogService {
       entity.setEstado("PENDIENTE");
 
       RvCatalogos saved = catalogosRepository.save(entity);
+      catalogSnapshot.putLegacy(saved);
+      catalogFacetService.invalidate();
       return mapLegacyToDTO(saved);
    }
 
@@ -232,6 +205,8 @@ public class CatalogService {
       existing.setEstado("PENDIENTE");
 
       RvCatalogos saved = catalogosRepository.save(existing);
+      catalogSnapshot.putLegacy(saved);
+      catalogFacetService.invalidate();
       return mapLegacyToDTO(saved);
    }
 
@@ -243,10 +218,8 @@ public class CatalogService {
                existing.getSbsNo());
 
       catalogosRepository.delete(existing);
-   }
-
-   private List<CatalogItemDTO> mapLegacyToDTO(List<RvCatalogos> entities) {
-      return entities.stream().map(this::mapLegacyToDTO).collect(Collectors.toList());
+      catalogSnapshot.removeLegacy(id);
+      catalogFacetService.invalidate();
    }
 
    private CatalogItemDTO mapLegacyToDTO(RvCatalogos entity) {
@@ -256,10 +229,6 @@ public class CatalogService {
                .orden(entity.getOrden()).activo(entity.getActivo()).sourceDisplay("Legacy").build();
    }
 
-   private List<CatalogItemDTO> mapRproToDTO(List<RvRproCatalogo> entities) {
-      return entities.stream().map(this::mapRproToDTO).collect(Collectors.toList());
-   }
-
    private CatalogItemDTO mapRproToDTO(RvRproCatalogo entity) {
       return CatalogItemDTO.builder().source(CatalogSource.RPRO).sourceId(entity.getRproSid())
                .sbsNo(entity.getSbsNo()).modulo(entity.getModulo()).campo(entity.getCampo())
@@ -268,56 +237,19 @@ public class CatalogService {
                .sourceDisplay("RPRO").build();
    }
 
-   private void enrichWithConversionData(List<CatalogItemDTO> items) {
-      List<AlCatalogTwostep> conversions = conversionRepository.findAll();
-
-      // Handle potential duplicates by keeping the first occurrence
-      Map<AlCatalogTwostepId, AlCatalogTwostep> conversionMap =
-               conversions.stream().collect(Collectors.toMap(AlCatalogTwostep::getId,
-                        Function.identity(), (existing, replacement) -> {
-                           log.warn("Duplicate conversion found for key: {}. Keeping the first one.",
-                                    existing.getId());
-                           return existing; // Keep the first occurrence
-                        }));
-
-      List<AlCatalogTargets> targets = targetsRepository.findAll();
-      Map<AlCatalogTwostepId, AlCatalogTargets> targetMap =
-               targets.stream().collect(Collectors.toMap(AlCatalogTargets::getId,
-                        Function.identity(), (existing, replacement) -> existing));
-
-      items.forEach(item -> {
-         AlCatalogTwostepId key = item.getConversionKey();
-         AlCatalogTwostep conversion = conversionMap.get(key);
-         if (conversion != null) {
-            item.setHasConversion(true);
-            item.setConversionDomain(conversion.getDomain());
-            item.setConversionStatus(conversion.getStatus());
-         } else {
-            item.setHasConversion(false);
-         }
-
-         AlCatalogTargets target = targetMap.get(key);
-         if (target != null) {
-            item.setHasTarget(true);
-            item.setSrcTable(target.getSrcTable());
-            item.setSrcField(target.getSrcField());
-         } else {
-            item.setHasTarget(false);
-         }
-      });
-   }
-
-   private Long generateNextId() {
-      return catalogosRepository.findAll().stream().map(RvCatalogos::getId).filter(Objects::nonNull)
-               .max(Long::compareTo).map(id -> id + 1).orElse(1L);
+   private CatalogItemDTO mapUnifiedRowToDTO(UnifiedCatalogRow row) {
+      return CatalogItemDTO.builder().source(row.source()).sourceId(row.sourceId())
+               .sbsNo(row.sbsNo()).modulo(row.modulo()).campo(row.campo()).valor(row.valor())
+               .descripcion(row.descripcion()).orden(row.orden()).activo(row.activo())
+               .padreSid(row.padreSid()).hasConversion(row.hasConversion())
+               .conversionDomain(row.conversionDomain()).conversionStatus(row.conversionStatus())
+               .hasTarget(row.hasTarget()).srcTable(row.srcTable()).srcField(row.srcField())
+               .sourceDisplay(row.source() == CatalogSource.LEGACY ? "Legacy" : "RPRO").build();
    }
 
    private void validateNotInRpro(String modulo, String campo, String valor, Integer sbsNo) {
-      boolean existsInRpro = rproCatalogoRepository.findAll().stream()
-               .anyMatch(c -> Objects.equals(c.getModulo(), modulo)
-                        && Objects.equals(c.getCampo(), campo)
-                        && Objects.equals(c.getValor(), valor)
-                        && Objects.equals(c.getSbsNo(), sbsNo));
+      boolean existsInRpro =
+               catalogKeyIndex.existsIn(CatalogSource.RPRO, modulo, campo, valor, sbsNo);
 
       if (existsInRpro) {
          throw new IllegalStateException(
@@ -335,13 +267,14 @@ public class CatalogService {
       });
       target.setSrcTable(srcTable);
       target.setSrcField(srcField);
-      targetsRepository.save(target);
+      catalogSnapshot.putTarget(targetsRepository.save(target));
       log.info("Saved target for key: {}", key);
    }
 
    public void deleteTarget(String modulo, String campo, String valor, Integer cadena) {
       AlCatalogTwostepId key = new AlCatalogTwostepId(modulo, campo, valor, cadena);
       targetsRepository.deleteById(key);
+      catalogSnapshot.removeTarget(key);
       log.info("Deleted target for key: {}", key);
    }
 
@@ -349,20 +282,6 @@ public class CatalogService {
     * Check if a catalog item exists in either LEGACY or RPRO
     */
    public boolean catalogExists(String modulo, String campo, String valor, Integer sbsNo) {
-      boolean existsInLegacy = catalogosRepository.findAll().stream()
-               .anyMatch(c -> Objects.equals(c.getModulo(), modulo)
-                        && Objects.equals(c.getCampo(), campo)
-                        && Objects.equals(c.getValor(), valor)
-                        && Objects.equals(c.getSbsNo(), sbsNo));
-
-      if (existsInLegacy) {
-         return true;
-      }
-
-      return rproCatalogoRepository.findAll().stream()
-               .anyMatch(c -> Objects.equals(c.getModulo(), modulo)
-                        && Objects.equals(c.getCampo(), campo)
-                        && Objects.equals(c.getValor(), valor)
-                        && Objects.equals(c.getSbsNo(), sbsNo));
+      return catalogKeyIndex.exists(modulo, campo, valor, sbsNo);
    }
 }
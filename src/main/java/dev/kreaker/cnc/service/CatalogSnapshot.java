@@ -0,0 +1,610 @@
+/* (c) 2026 Alejandro Lopez Monzon <alejandro@kreaker.dev> for Kreaker Developments */
+package dev.kreaker.cnc.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import dev.kreaker.cnc.domain.entity.AlCatalogTargets;
+import dev.kreaker.cnc.domain.entity.AlCatalogTwostep;
+import dev.kreaker.cnc.domain.entity.AlCatalogTwostepId;
+import dev.kreaker.cnc.domain.entity.RvCatalogos;
+import dev.kreaker.cnc.domain.model.CatalogCriteria;
+import dev.kreaker.cnc.domain.model.CatalogRowView;
+import dev.kreaker.cnc.domain.model.CatalogSearchMode;
+import dev.kreaker.cnc.domain.model.CatalogSource;
+import dev.kreaker.cnc.domain.model.ConversionResolution;
+import dev.kreaker.cnc.domain.repository.AlCatalogTargetsRepository;
+import dev.kreaker.cnc.domain.repository.AlCatalogTwostepRepository;
+import dev.kreaker.cnc.domain.repository.RvCatalogosRepository;
+import dev.kreaker.cnc.domain.repository.RvRproCatalogoRepository;
+import dev.kreaker.cnc.service.dto.CatalogItemDTO;
+import dev.kreaker.cnc.service.index.CatalogKeyCodec;
+import dev.kreaker.cnc.service.index.LongHashMap;
+import dev.kreaker.cnc.service.index.TrigramIndex;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Read-optimized, in-memory copy of the merged LEGACY + RPRO catalog and its conversion/target
+ * overlays.
+ *
+ * <p>
+ * The snapshot is loaded once in the background and then refreshed incrementally from the
+ * FECHA_CREACION/FECHA_MODIFICACION and CREATED_AT/MODIFIED_AT columns. Writes made through
+ * {@link CatalogService} and {@link ConversionService} are applied right away (after commit), and a
+ * periodic full reload picks up rows deleted by other applications. Until the first load succeeds
+ * {@link #isReady()} returns false and callers fall back to Oracle.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class CatalogSnapshot {
+
+   private static final Comparator<CatalogEntry> CATALOG_ORDER = Comparator
+            .comparing(CatalogEntry::modulo, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(CatalogEntry::campo, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(CatalogEntry::valor, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(CatalogEntry::source)
+            .thenComparing(CatalogEntry::orden, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(CatalogEntry::id, Comparator.nullsLast(Comparator.naturalOrder()));
+
+   // Lower bound for the delta queries; LocalDateTime.MIN cannot be bound as an Oracle DATE
+   private static final LocalDateTime NO_WATERMARK = LocalDateTime.of(1900, 1, 1, 0, 0);
+
+   private final RvCatalogosRepository catalogosRepository;
+   private final RvRproCatalogoRepository rproCatalogoRepository;
+   private final AlCatalogTwostepRepository conversionRepository;
+   private final AlCatalogTargetsRepository targetsRepository;
+   private final ParallelFetch parallelFetch;
+
+   @Value("${cnc.catalog.snapshot.enabled:true}")
+   private boolean enabled;
+
+   @Value("${cnc.catalog.snapshot.full-reload-interval:PT1H}")
+   private Duration fullReloadInterval;
+
+   @Value("${cnc.catalog.search.mode:CONTAINS}")
+   private CatalogSearchMode searchMode;
+
+   @Value("${cnc.catalog.snapshot.search-index.enabled:true}")
+   private boolean searchIndexEnabled;
+
+   private volatile Data data;
+   private volatile Instant lastFullReload = Instant.EPOCH;
+
+   public boolean isReady() {
+      return enabled && data != null;
+   }
+
+   /**
+    * Scheduled refresh. The first run performs the initial load; later runs only apply deltas
+    * unless the full reload interval has elapsed.
+    */
+   @Scheduled(fixedDelayString = "${cnc.catalog.snapshot.refresh-interval:60000}")
+   public void refresh() {
+      if (!enabled) {
+         return;
+      }
+      try {
+         if (data == null || Instant.now().isAfter(lastFullReload.plus(fullReloadInterval))) {
+            reload();
+         } else {
+            applyDeltas(data);
+         }
+      } catch (RuntimeException e) {
+         log.warn("Catalog snapshot refresh failed, serving {} data: {}",
+                  data == null ? "database" : "previous snapshot", e.getMessage());
+      }
+   }
+
+   /**
+    * Rebuild the whole snapshot from Oracle and swap it in atomically
+    */
+   public synchronized void reload() {
+      long start = System.nanoTime();
+      Data fresh = new Data(searchIndexEnabled);
+      // Full table reads are bulk work: they overlap two at a time within the bulk cap, and are
+      // indexed in the usual order on this thread since Data is not thread-safe
+      try (ParallelFetch.Fork fork = parallelFetch.fork(DatabaseAdmission.WorkClass.BULK)) {
+         ParallelFetch.Pending<List<CatalogRowView>> legacy =
+                  fork.submit(catalogosRepository::findAllViews);
+         ParallelFetch.Pending<List<CatalogRowView>> rpro =
+                  fork.submit(rproCatalogoRepository::findAllViews);
+         ParallelFetch.Pending<List<AlCatalogTwostep>> conversions =
+                  fork.submit(conversionRepository::findAll);
+         ParallelFetch.Pending<List<AlCatalogTargets>> targets =
+                  fork.submit(targetsRepository::findAll);
+
+         fork.join(legacy).forEach(fresh::putLegacy);
+         fork.join(rpro).forEach(fresh::putRpro);
+         fork.join(conversions).forEach(fresh::putConversion);
+         fork.join(targets).forEach(fresh::putTarget);
+      }
+
+      data = fresh;
+      lastFullReload = Instant.now();
+      log.info("Catalog snapshot loaded: {} legacy, {} RPRO, {} conversions, {} targets in {} ms",
+               fresh.legacy.size(), fresh.rpro.size(), fresh.conversions.size(),
+               fresh.targets.size(), (System.nanoTime() - start) / 1_000_000);
+   }
+
+   private synchronized void applyDeltas(Data current) {
+      List<CatalogRowView> legacy =
+               catalogosRepository.findViewsChangedSince(current.legacyWatermark);
+      legacy.forEach(current::putLegacy);
+
+      List<CatalogRowView> rpro =
+               rproCatalogoRepository.findViewsChangedSince(current.rproWatermark);
+      rpro.forEach(current::putRpro);
+
+      List<AlCatalogTwostep> conversions =
+               conversionRepository.findChangedSince(current.conversionWatermark);
+      conversions.forEach(current::putConversion);
+
+      List<AlCatalogTargets> targets = targetsRepository.findChangedSince(current.targetWatermark);
+      targets.forEach(current::putTarget);
+
+      log.debug("Catalog snapshot deltas applied: {} legacy, {} RPRO, {} conversions, {} targets",
+               legacy.size(), rpro.size(), conversions.size(), targets.size());
+   }
+
+   public Page<CatalogItemDTO> findPage(CatalogCriteria criteria, Pageable pageable) {
+      Data current = data;
+      List<CatalogEntry> matches = filter(current, criteria);
+
+      int totalElements = matches.size();
+      int start = (int) Math.min(pageable.getOffset(), totalElements);
+      int end = Math.min(start + pageable.getPageSize(), totalElements);
+
+      List<CatalogItemDTO> pageContent = new ArrayList<>(end - start);
+      for (CatalogEntry entry : matches.subList(start, end)) {
+         pageContent.add(current.toDTO(entry));
+      }
+      return new PageImpl<>(pageContent, pageable, totalElements);
+   }
+
+   public List<CatalogItemDTO> findAll(CatalogCriteria criteria) {
+      Data current = data;
+      List<CatalogEntry> matches = filter(current, criteria);
+
+      List<CatalogItemDTO> result = new ArrayList<>(matches.size());
+      for (CatalogEntry entry : matches) {
+         result.add(current.toDTO(entry));
+      }
+      return result;
+   }
+
+   /**
+    * Existence check over active and inactive rows of the given source
+    */
+   public boolean contains(CatalogSource source, String modulo, String campo, String valor,
+            Integer sbsNo) {
+      Data current = data;
+      long key = current.codec.find(modulo, campo, valor, sbsNo);
+      return key != CatalogKeyCodec.ABSENT
+               && (source == CatalogSource.LEGACY ? current.legacyKeys : current.rproKeys)
+                        .containsKey(key);
+   }
+
+   /**
+    * Conversion registered for the key (single hash lookup, used by bulk resolution)
+    */
+   public ConversionResolution resolveConversion(AlCatalogTwostepId key) {
+      Data current = data;
+      long packed = current.codec.find(key);
+      ConversionOverlay conversion =
+               packed != CatalogKeyCodec.ABSENT ? current.conversions.get(packed) : null;
+      return conversion != null
+               ? ConversionResolution.found(key, conversion.domain(), conversion.status())
+               : ConversionResolution.notFound(key);
+   }
+
+   /**
+    * Row counts of the loaded snapshot, empty while it is disabled or not loaded yet
+    */
+   public Optional<RowCounts> rowCounts() {
+      Data current = data;
+      if (!enabled || current == null) {
+         return Optional.empty();
+      }
+      return Optional.of(new RowCounts(current.legacy.size(), current.rpro.size(),
+               current.conversions.size(), current.targets.size()));
+   }
+
+   public record RowCounts(long legacy, long rpro, long conversions, long targets) {}
+
+   /**
+    * Type-ahead suggestions: distinct modulo, campo, valor or descripcion values of the active rows
+    * matching the filter, best match first (whole value, prefix, word start, substring)
+    */
+   public List<String> suggest(CatalogCriteria criteria, int limit) {
+      String term = criteria.searchTerm();
+      Map<String, Suggestion> suggestions = new HashMap<>();
+      for (CatalogEntry entry : filter(data, criteria)) {
+         for (String value : new String[] {entry.modulo(), entry.campo(), entry.valor(),
+                  entry.descripcion()}) {
+            String lower = value != null ? value.toLowerCase() : "";
+            if (lower.contains(term)) {
+               int rank = matchRank(lower, term);
+               suggestions.merge(lower, new Suggestion(value, rank),
+                        (a, b) -> a.rank() <= b.rank() ? a : b);
+            }
+         }
+      }
+      return suggestions.values().stream().sorted(Suggestion.ORDER).limit(limit)
+               .map(Suggestion::value).toList();
+   }
+
+   /**
+    * Matching active rows. With a search term they are ranked by {@link #matchRank} and then kept
+    * in catalog order; terms of three or more characters are looked up in the trigram index
+    * instead of scanning every row.
+    */
+   private List<CatalogEntry> filter(Data current, CatalogCriteria criteria) {
+      if (!criteria.hasSearchTerm()) {
+         List<CatalogEntry> matches = new ArrayList<>();
+         for (CatalogEntry entry : current.sortedActive()) {
+            if (matches(current, entry, criteria)) {
+               matches.add(entry);
+            }
+         }
+         return matches;
+      }
+
+      String term = criteria.searchTerm();
+      List<List<CatalogEntry>> ranks = List.of(new ArrayList<>(), new ArrayList<>(),
+               new ArrayList<>(), new ArrayList<>());
+      int[] candidates = current.search != null ? current.search.candidates(term) : null;
+      if (candidates != null) {
+         CatalogEntry[] docs = current.docs;
+         for (int doc : candidates) {
+            CatalogEntry entry = doc < docs.length ? docs[doc] : null;
+            if (entry != null && entry.isActive() && matches(current, entry, criteria)) {
+               ranks.get(matchRank(entry.searchText(), term)).add(entry);
+            }
+         }
+         ranks.forEach(rank -> rank.sort(CATALOG_ORDER));
+      } else {
+         for (CatalogEntry entry : current.sortedActive()) {
+            if (matches(current, entry, criteria)) {
+               ranks.get(matchRank(entry.searchText(), term)).add(entry);
+            }
+         }
+      }
+
+      List<CatalogEntry> matches = new ArrayList<>();
+      ranks.forEach(matches::addAll);
+      return matches;
+   }
+
+   /**
+    * 0 when the term is a whole field, 1 when it starts a field, 2 when it starts a word and 3
+    * for any other substring. Fields in {@code text} are separated by NUL characters.
+    */
+   private static int matchRank(String text, String term) {
+      int best = 3;
+      int index = text.indexOf(term);
+      while (index >= 0) {
+         char before = index == 0 ? '\u0000' : text.charAt(index - 1);
+         if (before == '\u0000') {
+            int end = index + term.length();
+            if (end == text.length() || text.charAt(end) == '\u0000') {
+               return 0;
+            }
+            best = 1;
+         } else if (best > 2 && !Character.isLetterOrDigit(before)) {
+            best = 2;
+         }
+         index = text.indexOf(term, index + 1);
+      }
+      return best;
+   }
+
+   private boolean matches(Data current, CatalogEntry entry, CatalogCriteria criteria) {
+      if (!criteria.includes(entry.source())) {
+         return false;
+      }
+      if (criteria.modulo() != null && !criteria.modulo().equals(entry.modulo())) {
+         return false;
+      }
+      if (criteria.campo() != null && !criteria.campo().equals(entry.campo())) {
+         return false;
+      }
+      if (criteria.sbsNo() != null && !criteria.sbsNo().equals(entry.sbsNo())) {
+         return false;
+      }
+      if (criteria.hasConversion() != null && criteria.hasConversion() != current.conversions
+               .containsKey(entry.key())) {
+         return false;
+      }
+      return !criteria.hasSearchTerm() || matchesSearch(entry.searchText(), criteria.searchTerm());
+   }
+
+   /**
+    * PREFIX mirrors the Oracle prefix search; CONTAINS and TEXT use a substring match
+    */
+   private boolean matchesSearch(String searchText, String term) {
+      if (searchMode == CatalogSearchMode.PREFIX) {
+         return searchText.startsWith(term) || searchText.contains("\u0000" + term);
+      }
+      return searchText.contains(term);
+   }
+
+   public void putLegacy(RvCatalogos entity) {
+      CatalogRowView row = CatalogRowView.of(entity);
+      afterCommit(current -> current.putLegacy(row));
+   }
+
+   public void removeLegacy(Long id) {
+      afterCommit(current -> current.removeLegacy(id));
+   }
+
+   public void putConversion(AlCatalogTwostep entity) {
+      afterCommit(current -> current.putConversion(entity));
+   }
+
+   public void removeConversion(AlCatalogTwostepId key) {
+      afterCommit(current -> current.removeConversion(key));
+   }
+
+   public void putTarget(AlCatalogTargets entity) {
+      afterCommit(current -> current.putTarget(entity));
+   }
+
+   public void removeTarget(AlCatalogTwostepId key) {
+      afterCommit(current -> current.removeTarget(key));
+   }
+
+   private void afterCommit(Consumer<Data> change) {
+      if (!isReady()) {
+         return;
+      }
+      if (TransactionSynchronizationManager.isSynchronizationActive()) {
+         TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+               apply(change);
+            }
+         });
+      } else {
+         apply(change);
+      }
+   }
+
+   private synchronized void apply(Consumer<Data> change) {
+      Data current = data;
+      if (current != null) {
+         change.accept(current);
+      }
+   }
+
+   /**
+    * Immutable catalog row as held by the snapshot. {@code key} is the packed (modulo, campo,
+    * valor, sbsNo) key of the owning snapshot's codec, {@code doc} its id in the search index and
+    * {@code searchText} the lower-cased concatenation of modulo, campo, valor and descripcion.
+    */
+   private record CatalogEntry(CatalogSource source, Long id, Integer sbsNo, String modulo,
+            String campo, String valor, String descripcion, Integer orden, Integer activo,
+            Long padreSid, long key, int doc, String searchText) {
+
+      static CatalogEntry of(CatalogKeyCodec codec, int doc, CatalogSource source,
+               CatalogRowView row) {
+         String searchText = String.join("\u0000", Objects.toString(row.modulo(), ""),
+                  Objects.toString(row.campo(), ""), Objects.toString(row.valor(), ""),
+                  Objects.toString(row.descripcion(), "")).toLowerCase();
+         return new CatalogEntry(source, row.id(), row.sbsNo(), row.modulo(), row.campo(),
+                  row.valor(), row.descripcion(), row.orden(), row.activo(), row.padreSid(),
+                  codec.encode(row.modulo(), row.campo(), row.valor(), row.sbsNo()), doc,
+                  searchText);
+      }
+
+      boolean isActive() {
+         return Objects.equals(activo, 1);
+      }
+
+      /**
+       * Whether the row has the values this entry was built from
+       */
+      boolean matches(CatalogRowView row) {
+         return Objects.equals(id, row.id()) && Objects.equals(sbsNo, row.sbsNo())
+                  && Objects.equals(modulo, row.modulo()) && Objects.equals(campo, row.campo())
+                  && Objects.equals(valor, row.valor())
+                  && Objects.equals(descripcion, row.descripcion())
+                  && Objects.equals(orden, row.orden()) && Objects.equals(activo, row.activo())
+                  && Objects.equals(padreSid, row.padreSid());
+      }
+   }
+
+   private record Suggestion(String value, int rank) {
+
+      static final Comparator<Suggestion> ORDER = Comparator.comparingInt(Suggestion::rank)
+               .thenComparingInt(suggestion -> suggestion.value().length())
+               .thenComparing(Suggestion::value);
+   }
+
+   private record ConversionOverlay(String domain, Integer status) {}
+
+   private record TargetOverlay(String srcTable, String srcField) {}
+
+   /**
+    * Mutable snapshot state. Reads never block; writes are serialized by the snapshot. Keyed
+    * overlays are primitive maps over {@link CatalogKeyCodec} keys, so enriching a row is a couple
+    * of probes on a long without allocating. The sorted view of active rows is rebuilt lazily after
+    * a change.
+    */
+   private static final class Data {
+      final Map<Long, CatalogEntry> legacy = new ConcurrentHashMap<>();
+      final Map<Long, CatalogEntry> rpro = new ConcurrentHashMap<>();
+      final CatalogKeyCodec codec = new CatalogKeyCodec();
+      final LongHashMap<Integer> legacyKeys = new LongHashMap<>();
+      final LongHashMap<Integer> rproKeys = new LongHashMap<>();
+      final LongHashMap<ConversionOverlay> conversions = new LongHashMap<>();
+      final LongHashMap<TargetOverlay> targets = new LongHashMap<>();
+      // Trigram index over searchText; docs maps its ids back to entries (null once replaced)
+      final TrigramIndex search;
+      volatile CatalogEntry[] docs = new CatalogEntry[1024];
+      private int nextDoc;
+
+      LocalDateTime legacyWatermark = NO_WATERMARK;
+      LocalDateTime rproWatermark = NO_WATERMARK;
+      LocalDateTime conversionWatermark = NO_WATERMARK;
+      LocalDateTime targetWatermark = NO_WATERMARK;
+
+      private volatile List<CatalogEntry> sortedActive;
+
+      Data(boolean searchIndexEnabled) {
+         search = searchIndexEnabled ? new TrigramIndex(1 << 15) : null;
+      }
+
+      List<CatalogEntry> sortedActive() {
+         List<CatalogEntry> sorted = sortedActive;
+         if (sorted == null) {
+            synchronized (this) {
+               sorted = sortedActive;
+               if (sorted == null) {
+                  List<CatalogEntry> active = new ArrayList<>(legacy.size() + rpro.size());
+                  legacy.values().stream().filter(CatalogEntry::isActive).forEach(active::add);
+                  rpro.values().stream().filter(CatalogEntry::isActive).forEach(active::add);
+                  active.sort(CATALOG_ORDER);
+                  sorted = Collections.unmodifiableList(active);
+                  sortedActive = sorted;
+               }
+            }
+         }
+         return sorted;
+      }
+
+      void putLegacy(CatalogRowView c) {
+         put(legacy, legacyKeys, CatalogSource.LEGACY, c);
+         legacyWatermark = max(legacyWatermark, c.createdAt(), c.modifiedAt());
+      }
+
+      void removeLegacy(Long id) {
+         replace(legacy, legacyKeys, id, null);
+      }
+
+      void putRpro(CatalogRowView c) {
+         put(rpro, rproKeys, CatalogSource.RPRO, c);
+         rproWatermark = max(rproWatermark, c.createdAt(), c.modifiedAt());
+      }
+
+      void putConversion(AlCatalogTwostep t) {
+         conversions.put(codec.encode(t.getId()),
+                  new ConversionOverlay(t.getDomain(), t.getStatus()));
+         conversionWatermark = max(conversionWatermark, t.getCreatedAt(), t.getModifiedAt());
+      }
+
+      void removeConversion(AlCatalogTwostepId key) {
+         conversions.remove(codec.find(key));
+      }
+
+      void putTarget(AlCatalogTargets t) {
+         targets.put(codec.encode(t.getId()), new TargetOverlay(t.getSrcTable(), t.getSrcField()));
+         targetWatermark = max(targetWatermark, t.getCreatedAt(), t.getModifiedAt());
+      }
+
+      void removeTarget(AlCatalogTwostepId key) {
+         targets.remove(codec.find(key));
+      }
+
+      /**
+       * Every delta run reads the rows at the watermark again (the queries use >=), as do the
+       * after-commit puts of rows a later delta sees; unchanged rows keep their doc instead of
+       * taking a new slot and new postings
+       */
+      private void put(Map<Long, CatalogEntry> rows, LongHashMap<Integer> keys,
+               CatalogSource source, CatalogRowView row) {
+         CatalogEntry previous = rows.get(row.id());
+         if (previous == null || !previous.matches(row)) {
+            replace(rows, keys, row.id(), CatalogEntry.of(codec, nextDoc++, source, row));
+         }
+      }
+
+      private void replace(Map<Long, CatalogEntry> rows, LongHashMap<Integer> keys, Long id,
+               CatalogEntry entry) {
+         CatalogEntry previous = entry != null ? rows.put(id, entry) : rows.remove(id);
+         if (previous != null) {
+            unindex(previous);
+            Integer count = keys.get(previous.key());
+            if (count != null && count > 1) {
+               keys.put(previous.key(), count - 1);
+            } else {
+               keys.remove(previous.key());
+            }
+         }
+         if (entry != null) {
+            Integer count = keys.get(entry.key());
+            keys.put(entry.key(), count == null ? 1 : count + 1);
+            index(entry);
+         }
+         sortedActive = null;
+      }
+
+      private void index(CatalogEntry entry) {
+         CatalogEntry[] current = docs;
+         if (entry.doc() >= current.length) {
+            current = Arrays.copyOf(current, Math.max(entry.doc() + 1, current.length * 2));
+         }
+         current[entry.doc()] = entry;
+         docs = current;
+         if (search != null) {
+            search.add(entry.doc(), entry.searchText());
+         }
+      }
+
+      private void unindex(CatalogEntry entry) {
+         docs[entry.doc()] = null;
+         if (search != null) {
+            search.remove(entry.doc(), entry.searchText());
+         }
+      }
+
+      CatalogItemDTO toDTO(CatalogEntry entry) {
+         CatalogItemDTO dto = CatalogItemDTO.builder().source(entry.source())
+                  .sourceId(entry.id()).sbsNo(entry.sbsNo()).modulo(entry.modulo())
+                  .campo(entry.campo()).valor(entry.valor()).descripcion(entry.descripcion())
+                  .orden(entry.orden()).activo(entry.activo()).padreSid(entry.padreSid())
+                  .sourceDisplay(entry.source() == CatalogSource.LEGACY ? "Legacy" : "RPRO")
+                  .build();
+
+         ConversionOverlay conversion = conversions.get(entry.key());
+         if (conversion != null) {
+            dto.setHasConversion(true);
+            dto.setConversionDomain(conversion.domain());
+            dto.setConversionStatus(conversion.status());
+         }
+
+         TargetOverlay target = targets.get(entry.key());
+         if (target != null) {
+            dto.setHasTarget(true);
+            dto.setSrcTable(target.srcTable());
+            dto.setSrcField(target.srcField());
+         }
+         return dto;
+      }
+
+      private static LocalDateTime max(LocalDateTime current, LocalDateTime... candidates) {
+         LocalDateTime result = current;
+         for (LocalDateTime candidate : candidates) {
+            if (candidate != null && candidate.isAfter(result)) {
+               result = candidate;
+            }
+         }
+         return result;
+      }
+   }
+}
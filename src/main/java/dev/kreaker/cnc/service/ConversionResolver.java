@@ -0,0 +1,216 @@
+/* (c) 2026 Alejandro Lopez Monzon <alejandro@kreaker.dev> for Kreaker Developments */
+package dev.kreaker.cnc.service;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.opencsv.CSVReader;
+import com.opencsv.CSVWriter;
+import com.opencsv.exceptions.CsvValidationException;
+
+import dev.kreaker.cnc.domain.entity.AlCatalogTwostep;
+import dev.kreaker.cnc.domain.entity.AlCatalogTwostepId;
+import dev.kreaker.cnc.domain.model.ConversionResolution;
+import dev.kreaker.cnc.domain.repository.AlCatalogTwostepRepository;
+import dev.kreaker.cnc.service.importer.ParsedRow;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Bulk (modulo, campo, valor, cadena) to domain/status resolution for downstream ETL jobs.
+ *
+ * <p>
+ * Keys are read and answered in batches, so neither the request nor the response is held in
+ * memory. Each key is a hash lookup in {@link CatalogSnapshot}; until the snapshot is loaded a
+ * batch costs one IN query on AL_CATALOG_TWOSTEP instead.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class ConversionResolver {
+
+   private static final String[] CSV_HEADERS =
+            {"Modulo", "Campo", "Valor", "Cadena", "Found", "Domain", "Status", "Error"};
+
+   private final CatalogSnapshot catalogSnapshot;
+   private final AlCatalogTwostepRepository conversionRepository;
+   private final JsonMapper jsonMapper;
+   private final DatabaseAdmission databaseAdmission;
+
+   // Keys per lookup/flush; keep below Oracle's 1000 IN items for the database fallback
+   @Value("${cnc.conversions.resolve.batch-size:1000}")
+   private int batchSize;
+
+   /**
+    * Resolve one JSON object per line ({"modulo", "campo", "valor", "cadena"}), writing one JSON
+    * result per line in the same order
+    */
+   public void resolveNdjson(InputStream in, OutputStream out) throws IOException {
+      BufferedReader reader =
+               new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+      Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+
+      List<ParsedRow<AlCatalogTwostepId>> batch = new ArrayList<>(batchSize);
+      int lineNumber = 0;
+      String line;
+      while ((line = reader.readLine()) != null) {
+         lineNumber++;
+         if (line.isBlank()) {
+            continue;
+         }
+         batch.add(ParsedRow.parse(lineNumber, line, this::parseJsonKey));
+         if (batch.size() == batchSize) {
+            writeNdjson(writer, resolve(batch));
+            batch.clear();
+         }
+      }
+      writeNdjson(writer, resolve(batch));
+   }
+
+   /**
+    * Resolve a CSV of Modulo, Campo, Valor, Cadena (first row is a header), writing a CSV result
+    * in the same order
+    */
+   public void resolveCsv(InputStream in, OutputStream out) throws IOException {
+      CSVReader reader = new CSVReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+      CSVWriter writer = new CSVWriter(
+               new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8)));
+      writer.writeNext(CSV_HEADERS);
+
+      try {
+         if (reader.readNext() == null) {
+            writer.flush();
+            return;
+         }
+         List<ParsedRow<AlCatalogTwostepId>> batch = new ArrayList<>(batchSize);
+         int rowNumber = 1;
+         String[] row;
+         while ((row = reader.readNext()) != null) {
+            rowNumber++;
+            batch.add(ParsedRow.parse(rowNumber, row, this::parseCsvKey));
+            if (batch.size() == batchSize) {
+               writeCsv(writer, resolve(batch));
+               batch.clear();
+            }
+         }
+         writeCsv(writer, resolve(batch));
+      } catch (CsvValidationException e) {
+         throw new IOException("Invalid CSV input: " + e.getMessage(), e);
+      }
+   }
+
+   /**
+    * Resolve a batch of parsed keys, keeping input order; failed rows become error results
+    */
+   public List<ConversionResolution> resolve(List<ParsedRow<AlCatalogTwostepId>> batch) {
+      if (batch.isEmpty()) {
+         return List.of();
+      }
+      Function<AlCatalogTwostepId, ConversionResolution> lookup =
+               catalogSnapshot.isReady() ? catalogSnapshot::resolveConversion : loadBatch(batch);
+
+      List<ConversionResolution> results = new ArrayList<>(batch.size());
+      for (ParsedRow<AlCatalogTwostepId> row : batch) {
+         results.add(row.isFailed()
+                  ? ConversionResolution.invalid("Row " + row.rowNumber() + ": " + row.error())
+                  : lookup.apply(row.value()));
+      }
+      return results;
+   }
+
+   /**
+    * Database fallback: one query for the batch's modulos and campos, matched in memory
+    */
+   private Function<AlCatalogTwostepId, ConversionResolution> loadBatch(
+            List<ParsedRow<AlCatalogTwostepId>> batch) {
+      Set<String> modulos = new HashSet<>();
+      Set<String> campos = new HashSet<>();
+      for (ParsedRow<AlCatalogTwostepId> row : batch) {
+         if (!row.isFailed()) {
+            modulos.add(row.value().getModulo());
+            campos.add(row.value().getCampo());
+         }
+      }
+      Map<AlCatalogTwostepId, AlCatalogTwostep> conversions = new HashMap<>();
+      if (!modulos.isEmpty()) {
+         try (var _ = databaseAdmission.as(DatabaseAdmission.WorkClass.BULK)) {
+            conversionRepository.findById_ModuloInAndId_CampoIn(modulos, campos)
+                     .forEach(conversion -> conversions.put(conversion.getId(), conversion));
+         }
+      }
+      return key -> {
+         AlCatalogTwostep conversion = conversions.get(key);
+         return conversion != null
+                  ? ConversionResolution.found(key, conversion.getDomain(), conversion.getStatus())
+                  : ConversionResolution.notFound(key);
+      };
+   }
+
+   private AlCatalogTwostepId parseJsonKey(String line) {
+      AlCatalogTwostepId key;
+      try {
+         key = jsonMapper.readValue(line, AlCatalogTwostepId.class);
+      } catch (JacksonException e) {
+         throw new IllegalArgumentException("Invalid JSON: " + e.getOriginalMessage());
+      }
+      return validate(key);
+   }
+
+   private AlCatalogTwostepId parseCsvKey(String[] row) {
+      if (row.length < 4) {
+         throw new IllegalArgumentException("Expected 4 columns (Modulo, Campo, Valor, Cadena)");
+      }
+      Integer cadena;
+      try {
+         cadena = row[3].isBlank() ? null : Integer.valueOf(row[3].trim());
+      } catch (NumberFormatException e) {
+         throw new IllegalArgumentException("Cadena must be a number: " + row[3]);
+      }
+      return validate(new AlCatalogTwostepId(row[0].trim(), row[1].trim(), row[2].trim(), cadena));
+   }
+
+   private AlCatalogTwostepId validate(AlCatalogTwostepId key) {
+      if (key == null || isBlank(key.getModulo()) || isBlank(key.getCampo())
+               || isBlank(key.getValor()) || key.getCadena() == null) {
+         throw new IllegalArgumentException("modulo, campo, valor and cadena are required");
+      }
+      return key;
+   }
+
+   private static boolean isBlank(String value) {
+      return value == null || value.isBlank();
+   }
+
+   private void writeNdjson(Writer writer, List<ConversionResolution> results)
+            throws IOException {
+      for (ConversionResolution result : results) {
+         writer.write(jsonMapper.writeValueAsString(result));
+         writer.write('\n');
+      }
+      writer.flush();
+   }
+
+   /**
+    * CSVWriter swallows write errors; rethrow them so a dropped client stops the request
+    */
+   private void writeCsv(CSVWriter writer, List<ConversionResolution> results)
+            throws IOException {
+      for (ConversionResolution result : results) {
+         writer.writeNext(new String[] {result.modulo(), result.campo(), result.valor(),
+                  Objects.toString(result.cadena(), ""), String.valueOf(result.found()),
+                  result.domain(), Objects.toString(result.status(), ""), result.error()});
+      }
+      if (writer.getException() != null) {
+         throw writer.getException();
+      }
+      writer.flush();
+   }
+}
@@ -10,11 +10,11 @@ import org.springframework.transaction.annotation.Transactional;
 
 import dev.kreaker.cnc.domain.entity.AlCatalogTwostep;
 import dev.kreaker.cnc.domain.entity.AlCatalogTwostepId;
+import dev.kreaker.cnc.domain.model.CatalogSource;
 import dev.kreaker.cnc.domain.repository.AlCatalogTwostepRepository;
-import dev.kreaker.cnc.domain.repository.RvCatalogosRepository;
-import dev.kreaker.cnc.domain.repository.RvRproCatalogoRepository;
 import dev.kreaker.cnc.service.dto.ConversionDTO;
 
+import io.micrometer.core.annotation.Timed;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -25,14 +25,16 @@ import lombok.extern.slf4j.Slf4j;
 public class ConversionService {
 
    private final AlCatalogTwostepRepository conversionRepository;
-   private final RvCatalogosRepository catalogosRepository;
-   private final RvRproCatalogoRepository rproCatalogoRepository;
+   private final CatalogSnapshot catalogSnapshot;
+   private final CatalogKeyIndex catalogKeyIndex;
 
+   @Timed(CatalogService.TIMER)
    public List<ConversionDTO> getAllConversions() {
       return conversionRepository.findAll().stream().map(ConversionDTO::fromEntity)
                .collect(Collectors.toList());
    }
 
+   @Timed(CatalogService.TIMER)
    public Optional<ConversionDTO> getConversion(String modulo, String campo, String valor,
             Integer cadena) {
       Optional<ConversionDTO> conversionOpt = conversionRepository
@@ -49,6 +51,7 @@ public class ConversionService {
       return conversionOpt;
    }
 
+   @Timed(CatalogService.TIMER)
    @Transactional
    public ConversionDTO createConversion(ConversionDTO dto) {
       validateCatalogItemExists(dto.getModulo(), dto.getCampo(), dto.getValor(), dto.getCadena());
@@ -64,11 +67,13 @@ public class ConversionService {
 
       AlCatalogTwostep entity = dto.toEntity();
       AlCatalogTwostep saved = conversionRepository.save(entity);
+      catalogSnapshot.putConversion(saved);
       log.info("Created conversion: {}", saved.getId());
 
       return ConversionDTO.fromEntity(saved);
    }
 
+   @Timed(CatalogService.TIMER)
    @Transactional
    public ConversionDTO updateConversion(String modulo, String campo, String valor, Integer cadena,
             ConversionDTO dto) {
@@ -80,11 +85,13 @@ public class ConversionService {
       existing.setStatus(dto.getStatus());
 
       AlCatalogTwostep updated = conversionRepository.save(existing);
+      catalogSnapshot.putConversion(updated);
       log.info("Updated conversion: {}", updated.getId());
 
       return ConversionDTO.fromEntity(updated);
    }
 
+   @Timed(CatalogService.TIMER)
    @Transactional
    public void deleteConversion(String modulo, String campo, String valor, Integer cadena) {
       AlCatalogTwostepId id = new AlCatalogTwostepId(modulo, campo, valor, cadena);
@@ -93,6 +100,7 @@ public class ConversionService {
       }
 
       conversionRepository.deleteById(id);
+      catalogSnapshot.removeConversion(id);
       log.info("Deleted conversion: {}", id);
    }
 
@@ -105,37 +113,16 @@ public class ConversionService {
 
    private void validateCatalogItemExists(String modulo, String campo, String valor,
             Integer cadena) {
-      boolean existsInLegacy = catalogosRepository.findAll().stream()
-               .anyMatch(c -> c.getModulo().equals(modulo) && c.getCampo().equals(campo)
-                        && c.getValor().equals(valor) && c.getSbsNo().equals(cadena));
-
-      boolean existsInRpro = rproCatalogoRepository.findAll().stream()
-               .anyMatch(c -> c.getModulo().equals(modulo) && c.getCampo().equals(campo)
-                        && c.getValor().equals(valor) && c.getSbsNo().equals(cadena));
-
-      if (!existsInLegacy && !existsInRpro) {
+      if (!catalogKeyIndex.exists(modulo, campo, valor, cadena)) {
          throw new IllegalArgumentException("Catalog item not found: modulo=" + modulo + ", campo="
                   + campo + ", valor=" + valor + ", cadena=" + cadena);
       }
    }
 
    public String determineCatalogSource(String modulo, String campo, String valor, Integer cadena) {
-      boolean existsInLegacy = catalogosRepository.findAll().stream()
-               .anyMatch(c -> c.getModulo().equals(modulo) && c.getCampo().equals(campo)
-                        && c.getValor().equals(valor) && c.getSbsNo().equals(cadena));
-
-      if (existsInLegacy) {
-         return "RV_CATALOGOS (Legacy)";
-      }
-
-      boolean existsInRpro = rproCatalogoRepository.findAll().stream()
-               .anyMatch(c -> c.getModulo().equals(modulo) && c.getCampo().equals(campo)
-                        && c.getValor().equals(valor) && c.getSbsNo().equals(cadena));
-
-      if (existsInRpro) {
-         return "RV_RPRO_CATALOGO (RPRO)";
-      }
-
-      return "Unknown";
+      return catalogKeyIndex.findSource(modulo, campo, valor, cadena)
+               .map(source -> source == CatalogSource.LEGACY ? "RV_CATALOGOS (Legacy)"
+                        : "RV_RPRO_CATALOGO (RPRO)")
+               .orElse("Unknown");
    }
 }
@@ -0,0 +1,190 @@
+/* (c) 2026 Alejandro Lopez Monzon <alejandro@kreaker.dev> for Kreaker Developments */
+package dev.kreaker.cnc.service;
+
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Admission control in front of the Oracle pool. With virtual threads any number of requests can
+ * reach the database layer at once, so connections are handed out against fair semaphores
+ * instead of letting every caller pile up inside Hikari: at most {@code permits} in total, of
+ * which at most {@code bulk-permits} go to bulk work (exports, imports, the bulk resolve API).
+ * The rest stays reserved for interactive pages.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class DatabaseAdmission {
+
+   public enum WorkClass {
+      INTERACTIVE, BULK
+   }
+
+   /**
+    * Work class assignment of the current thread; closing it restores the previous one
+    */
+   @FunctionalInterface
+   public interface Scope extends AutoCloseable {
+      @Override
+      void close();
+   }
+
+   private final MeterRegistry meterRegistry;
+
+   private final ThreadLocal<WorkClass> workClass = new ThreadLocal<>();
+   // Permits held by the thread; nested connection requests reuse the outer permit
+   private final ThreadLocal<int[]> held = ThreadLocal.withInitial(() -> new int[1]);
+
+   private final Map<WorkClass, AtomicInteger> queued = new EnumMap<>(WorkClass.class);
+   private final Map<WorkClass, Timer> waitTimers = new EnumMap<>(WorkClass.class);
+   private final Map<WorkClass, Counter> rejections = new EnumMap<>(WorkClass.class);
+
+   @Value("${cnc.db.admission.permits:${spring.datasource.hikari.maximum-pool-size:5}}")
+   private int permitCount;
+
+   @Value("${cnc.db.admission.bulk-permits:2}")
+   private int bulkPermitCount;
+
+   @Value("${cnc.db.admission.timeout:PT20S}")
+   private Duration timeout;
+
+   private Semaphore permits;
+   private Semaphore bulkPermits;
+
+   @PostConstruct
+   void init() {
+      permits = new Semaphore(permitCount, true);
+      bulkPermits = new Semaphore(Math.clamp(bulkPermitCount, 1, permitCount), true);
+
+      for (WorkClass type : WorkClass.values()) {
+         String tag = type.name().toLowerCase();
+         AtomicInteger waiting = new AtomicInteger();
+         queued.put(type, waiting);
+         Gauge.builder("cnc.db.admission.queued", waiting, AtomicInteger::get)
+                  .tag("class", tag).description("Threads waiting for a database permit")
+                  .register(meterRegistry);
+         waitTimers.put(type, Timer.builder("cnc.db.admission.wait").tag("class", tag)
+                  .description("Time spent queued for a database permit").register(meterRegistry));
+         rejections.put(type, Counter.builder("cnc.db.admission.rejected").tag("class", tag)
+                  .description("Connection requests that timed out waiting for a permit")
+                  .register(meterRegistry));
+      }
+      Gauge.builder("cnc.db.admission.available", permits, Semaphore::availablePermits)
+               .description("Database permits not in use").register(meterRegistry);
+   }
+
+   /**
+    * Classify the database work of the current thread until the scope is closed. Unclassified
+    * work is interactive.
+    */
+   public Scope as(WorkClass type) {
+      WorkClass previous = workClass.get();
+      workClass.set(type);
+      return () -> {
+         if (previous == null) {
+            workClass.remove();
+         } else {
+            workClass.set(previous);
+         }
+      };
+   }
+
+   /**
+    * Work class of the current thread, to carry over to threads doing work on its behalf
+    */
+   public WorkClass current() {
+      return Objects.requireNonNullElse(workClass.get(), WorkClass.INTERACTIVE);
+   }
+
+   /**
+    * Wait for a permit for the current thread's work class
+    *
+    * @return the action releasing the permit, safe to run more than once
+    * @throws SQLTransientConnectionException when no permit frees up within the timeout
+    */
+   public Runnable acquire() throws SQLTransientConnectionException {
+      int[] depth = held.get();
+      if (depth[0] > 0) {
+         depth[0]++;
+         return once(() -> depth[0]--);
+      }
+
+      WorkClass type = current();
+      admit(type);
+      depth[0]++;
+      return once(() -> {
+         depth[0]--;
+         permits.release();
+         if (type == WorkClass.BULK) {
+            bulkPermits.release();
+         }
+      });
+   }
+
+   private void admit(WorkClass type) throws SQLTransientConnectionException {
+      AtomicInteger waiting = queued.get(type);
+      long start = System.nanoTime();
+      long deadline = start + timeout.toNanos();
+      boolean bulkAdmitted = false;
+      boolean admitted = false;
+      waiting.incrementAndGet();
+      try {
+         if (type == WorkClass.BULK) {
+            bulkAdmitted = bulkPermits.tryAcquire(timeout.toNanos(), TimeUnit.NANOSECONDS);
+            if (!bulkAdmitted) {
+               throw reject(type);
+            }
+         }
+         if (!permits.tryAcquire(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+            throw reject(type);
+         }
+         admitted = true;
+      } catch (InterruptedException e) {
+         Thread.currentThread().interrupt();
+         throw new SQLTransientConnectionException("Interrupted waiting for a database permit",
+                  e);
+      } finally {
+         // Any failure after the bulk permit (timeout, interrupt, unexpected error) gives it back
+         if (bulkAdmitted && !admitted) {
+            bulkPermits.release();
+         }
+         waiting.decrementAndGet();
+         waitTimers.get(type).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+      }
+   }
+
+   private SQLTransientConnectionException reject(WorkClass type) {
+      rejections.get(type).increment();
+      log.warn("No database permit for {} work within {} ({} queued interactive, {} bulk)", type,
+               timeout, queued.get(WorkClass.INTERACTIVE).get(), queued.get(WorkClass.BULK).get());
+      return new SQLTransientConnectionException(
+               "Database busy, no connection available within " + timeout.toSeconds() + " s");
+   }
+
+   private static Runnable once(Runnable release) {
+      AtomicBoolean released = new AtomicBoolean();
+      return () -> {
+         if (released.compareAndSet(false, true)) {
+            release.run();
+         }
+      };
+   }
+}
@@ -2,23 +2,34 @@
 package dev.kreaker.cnc.service;
 
 import java.io.*;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 import org.apache.poi.ss.usermodel.*;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.web.multipart.MultipartFile;
 
 import com.opencsv.CSVReader;
 import com.opencsv.CSVWriter;
 import com.opencsv.exceptions.CsvException;
+import com.opencsv.exceptions.CsvValidationException;
 
 import dev.kreaker.cnc.service.dto.CatalogFilterDTO;
 import dev.kreaker.cnc.service.dto.CatalogItemDTO;
 import dev.kreaker.cnc.service.dto.ConversionDTO;
 import dev.kreaker.cnc.service.dto.ImportResultDTO;
-
+import dev.kreaker.cnc.service.importer.BulkImportEngine;
+import dev.kreaker.cnc.service.importer.CatalogImportRow;
+import dev.kreaker.cnc.service.importer.ExcelRowSource;
+import dev.kreaker.cnc.service.importer.ImportProgress;
+import dev.kreaker.cnc.service.importer.ParsedRow;
+import dev.kreaker.cnc.service.importer.RowSource;
+import dev.kreaker.cnc.service.importer.SheetRow;
+
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -28,7 +39,15 @@ import lombok.extern.slf4j.Slf4j;
 public class ExportImportService {
 
    private final CatalogService catalogService;
-   private final ConversionService conversionService;
+   private final BulkImportEngine bulkImportEngine;
+
+   // Rows kept in memory by streaming Excel exports; older rows are flushed to disk
+   @Value("${cnc.export.excel.row-window:200}")
+   private int excelRowWindow;
+
+   // Rows inspected to size the Excel columns
+   @Value("${cnc.export.excel.width-sample-rows:500}")
+   private int excelWidthSampleRows;
 
    // CSV Headers for catalog export
    private static final String[] CATALOG_HEADERS = {"Modulo", "Campo", "Valor", "Cadena",
@@ -43,39 +62,36 @@ public class ExportImportService {
             {"Modulo", "Campo", "Valor", "Cadena", "Descripcion", "Orden", "Domain", "Status"};
 
    /**
-    * Export catalog items to CSV format
+    * Export catalog items to CSV format, streaming rows from the database straight to the output
     */
-   public byte[] exportToCsv(CatalogFilterDTO filter) throws IOException {
-      List<CatalogItemDTO> items = catalogService.getUnifiedCatalog(filter);
-
-      ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-      try (CSVWriter writer = new CSVWriter(new OutputStreamWriter(outputStream))) {
-         // Write header
-         writer.writeNext(CATALOG_HEADERS);
-
-         // Write data
-         for (CatalogItemDTO item : items) {
-            String[] row = {item.getModulo(), item.getCampo(), item.getValor(),
-                     String.valueOf(item.getSbsNo()), item.getDescripcion(),
-                     item.getSourceDisplay(), item.isHasConversion() ? "Yes" : "No",
-                     item.getConversionDomain() != null ? item.getConversionDomain() : "",
-                     item.getConversionStatus() != null ? String.valueOf(item.getConversionStatus())
-                              : ""};
-            writer.writeNext(row);
-         }
-      }
-
-      log.info("Exported {} catalog items to CSV", items.size());
-      return outputStream.toByteArray();
+   @Timed(CatalogService.TIMER)
+   public void exportToCsv(CatalogFilterDTO filter, OutputStream out) throws IOException {
+      CSVWriter writer = new CSVWriter(new BufferedWriter(new OutputStreamWriter(out)));
+      // Write header
+      writer.writeNext(CATALOG_HEADERS);
+
+      // Write data
+      long count = forEachItem(filter, item -> {
+         String[] row = {item.getModulo(), item.getCampo(), item.getValor(),
+                  String.valueOf(item.getSbsNo()), item.getDescripcion(), item.getSourceDisplay(),
+                  item.isHasConversion() ? "Yes" : "No",
+                  item.getConversionDomain() != null ? item.getConversionDomain() : "",
+                  item.getConversionStatus() != null ? String.valueOf(item.getConversionStatus())
+                           : ""};
+         writeRow(writer, row);
+      });
+      // Flush only: the response stream is closed by the container
+      writer.flush();
+
+      log.info("Exported {} catalog items to CSV", count);
    }
 
    /**
-    * Export catalog items to Excel format
+    * Export catalog items to Excel format, streaming rows through an SXSSF window to the output
     */
-   public byte[] exportToExcel(CatalogFilterDTO filter) throws IOException {
-      List<CatalogItemDTO> items = catalogService.getUnifiedCatalog(filter);
-
-      try (Workbook workbook = new XSSFWorkbook()) {
+   @Timed(CatalogService.TIMER)
+   public void exportToExcel(CatalogFilterDTO filter, OutputStream out) throws IOException {
+      try (SXSSFWorkbook workbook = newStreamingWorkbook()) {
          Sheet sheet = workbook.createSheet("Catalog");
 
          // Create header style
@@ -106,9 +122,10 @@ public class ExportImportService {
          dataStyle.setBorderRight(BorderStyle.THIN);
 
          // Write data rows
-         int rowNum = 1;
-         for (CatalogItemDTO item : items) {
-            Row row = sheet.createRow(rowNum++);
+         ColumnWidthSampler widths = new ColumnWidthSampler(CATALOG_HEADERS, excelWidthSampleRows);
+         int[] rowNum = {1};
+         long count = forEachItem(filter, item -> {
+            Row row = sheet.createRow(rowNum[0]++);
 
             createCell(row, 0, item.getModulo(), dataStyle);
             createCell(row, 1, item.getCampo(), dataStyle);
@@ -124,55 +141,70 @@ public class ExportImportService {
                      item.getConversionStatus() != null ? String.valueOf(item.getConversionStatus())
                               : "",
                      dataStyle);
-         }
+            widths.sample(row);
+         });
 
-         // Auto-size columns
-         for (int i = 0; i < CATALOG_HEADERS.length; i++) {
-            sheet.autoSizeColumn(i);
-         }
+         // Column widths from the sampled prefix; autosize would need every row in memory
+         widths.apply(sheet);
+         workbook.write(out);
 
-         // Write to byte array
-         ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-         workbook.write(outputStream);
-
-         log.info("Exported {} catalog items to Excel", items.size());
-         return outputStream.toByteArray();
+         log.info("Exported {} catalog items to Excel", count);
       }
    }
 
    /**
-    * Export only conversions to CSV (for import template)
+    * Export only conversions to CSV (for import template), streamed like {@link #exportToCsv}
     */
-   public byte[] exportConversionsToCsv(CatalogFilterDTO filter) throws IOException {
-      List<CatalogItemDTO> items = catalogService.getUnifiedCatalog(filter);
+   @Timed(CatalogService.TIMER)
+   public void exportConversionsToCsv(CatalogFilterDTO filter, OutputStream out)
+            throws IOException {
+      CSVWriter writer = new CSVWriter(new BufferedWriter(new OutputStreamWriter(out)));
+      // Write header
+      writer.writeNext(CONVERSION_HEADERS);
+
+      // Write data - only items with conversions or all items for template
+      long count = forEachItem(filter, item -> {
+         String[] row = {item.getModulo(), item.getCampo(), item.getValor(),
+                  String.valueOf(item.getSbsNo()),
+                  item.getConversionDomain() != null ? item.getConversionDomain() : "",
+                  item.getConversionStatus() != null ? String.valueOf(item.getConversionStatus())
+                           : "1"};
+         writeRow(writer, row);
+      });
+      writer.flush();
+
+      log.info("Exported {} items to conversions CSV template", count);
+   }
 
-      ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-      try (CSVWriter writer = new CSVWriter(new OutputStreamWriter(outputStream))) {
-         // Write header
-         writer.writeNext(CONVERSION_HEADERS);
-
-         // Write data - only items with conversions or all items for template
-         for (CatalogItemDTO item : items) {
-            String[] row = {item.getModulo(), item.getCampo(), item.getValor(),
-                     String.valueOf(item.getSbsNo()),
-                     item.getConversionDomain() != null ? item.getConversionDomain() : "",
-                     item.getConversionStatus() != null ? String.valueOf(item.getConversionStatus())
-                              : "1"};
-            writer.writeNext(row);
-         }
+   /**
+    * CSVWriter swallows write errors; rethrow them so a dropped client stops the cursor
+    */
+   private void writeRow(CSVWriter writer, String[] row) {
+      writer.writeNext(row);
+      if (writer.getException() != null) {
+         throw new UncheckedIOException(writer.getException());
       }
-
-      log.info("Exported {} items to conversions CSV template", items.size());
-      return outputStream.toByteArray();
    }
 
    /**
-    * Export only conversions to Excel (for import template)
+    * Run the action over the filtered catalog cursor, surfacing write errors as IOException
     */
-   public byte[] exportConversionsToExcel(CatalogFilterDTO filter) throws IOException {
-      List<CatalogItemDTO> items = catalogService.getUnifiedCatalog(filter);
+   private long forEachItem(CatalogFilterDTO filter, Consumer<CatalogItemDTO> action)
+            throws IOException {
+      try {
+         return catalogService.forEachUnifiedCatalogItem(filter, action);
+      } catch (UncheckedIOException e) {
+         throw e.getCause();
+      }
+   }
 
-      try (Workbook workbook = new XSSFWorkbook()) {
+   /**
+    * Export only conversions to Excel (for import template), streamed like {@link #exportToExcel}
+    */
+   @Timed(CatalogService.TIMER)
+   public void exportConversionsToExcel(CatalogFilterDTO filter, OutputStream out)
+            throws IOException {
+      try (SXSSFWorkbook workbook = newStreamingWorkbook()) {
          Sheet sheet = workbook.createSheet("Conversions");
 
          // Create header style
@@ -203,9 +235,11 @@ public class ExportImportService {
          dataStyle.setBorderRight(BorderStyle.THIN);
 
          // Write data rows
-         int rowNum = 1;
-         for (CatalogItemDTO item : items) {
-            Row row = sheet.createRow(rowNum++);
+         ColumnWidthSampler widths =
+                  new ColumnWidthSampler(CONVERSION_HEADERS, excelWidthSampleRows);
+         int[] rowNum = {1};
+         long count = forEachItem(filter, item -> {
+            Row row = sheet.createRow(rowNum[0]++);
 
             createCell(row, 0, item.getModulo(), dataStyle);
             createCell(row, 1, item.getCampo(), dataStyle);
@@ -218,82 +252,42 @@ public class ExportImportService {
                      item.getConversionStatus() != null ? String.valueOf(item.getConversionStatus())
                               : "1",
                      dataStyle);
-         }
+            widths.sample(row);
+         });
 
-         // Auto-size columns
-         for (int i = 0; i < CONVERSION_HEADERS.length; i++) {
-            sheet.autoSizeColumn(i);
-         }
+         widths.apply(sheet);
+         workbook.write(out);
 
-         // Write to byte array
-         ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-         workbook.write(outputStream);
-
-         log.info("Exported {} items to conversions Excel template", items.size());
-         return outputStream.toByteArray();
+         log.info("Exported {} items to conversions Excel template", count);
       }
    }
 
    /**
-    * Import conversions from CSV file
+    * Workbook that keeps only the last rows in memory and flushes older ones to gzipped temp
+    * files; strings are written inline, so there is no shared strings table to grow
     */
-   public ImportResultDTO importFromCsv(MultipartFile file) throws IOException, CsvException {
-      ImportResultDTO result = new ImportResultDTO();
-      List<String> errors = new ArrayList<>();
-
-      try (CSVReader reader = new CSVReader(new InputStreamReader(file.getInputStream()))) {
-         List<String[]> rows = reader.readAll();
+   private SXSSFWorkbook newStreamingWorkbook() {
+      SXSSFWorkbook workbook = new SXSSFWorkbook(excelRowWindow);
+      workbook.setCompressTempFiles(true);
+      return workbook;
+   }
 
-         if (rows.isEmpty()) {
-            result.setSuccess(false);
-            result.setMessage("Empty file");
-            return result;
-         }
+   /**
+    * Import conversions from CSV file
+    */
+   @Timed(CatalogService.TIMER)
+   public ImportResultDTO importFromCsv(InputStream in, ImportProgress progress)
+            throws IOException, CsvException {
+      ImportResultDTO result;
 
+      try (CSVReader reader = new CSVReader(new InputStreamReader(in))) {
          // Skip header row
-         boolean isFirstRow = true;
-         int rowNumber = 0;
-         int created = 0;
-         int updated = 0;
-         int failed = 0;
-
-         for (String[] row : rows) {
-            rowNumber++;
-
-            if (isFirstRow) {
-               isFirstRow = false;
-               continue; // Skip header
-            }
-
-            if (row.length < 6) {
-               errors.add("Row " + rowNumber + ": Invalid number of columns (expected 6, got "
-                        + row.length + ")");
-               failed++;
-               continue;
-            }
-
-            try {
-               ConversionDTO dto = parseConversionRow(row);
-               boolean isNew = processConversion(dto);
-
-               if (isNew) {
-                  created++;
-               } else {
-                  updated++;
-               }
-            } catch (Exception e) {
-               errors.add("Row " + rowNumber + ": " + e.getMessage());
-               failed++;
-            }
+         if (reader.readNext() == null) {
+            return emptyFileResult();
          }
 
-         result.setSuccess(failed == 0);
-         result.setCreated(created);
-         result.setUpdated(updated);
-         result.setFailed(failed);
-         result.setErrors(errors);
-         result.setMessage(String.format("Import completed: %d created, %d updated, %d failed",
-                  created, updated, failed));
+         result = bulkImportEngine.importConversions(csvRows(reader, 6, this::parseConversionRow,
+                  "Invalid number of columns (expected 6, got %d)"), progress);
       }
 
       log.info("CSV Import result: {}", result.getMessage());
@@ -303,53 +297,18 @@ public class ExportImportService {
    /**
     * Import conversions from Excel file
     */
-   public ImportResultDTO importFromExcel(MultipartFile file) throws IOException {
-      ImportResultDTO result = new ImportResultDTO();
-      List<String> errors = new ArrayList<>();
-
-      try (Workbook workbook = WorkbookFactory.create(file.getInputStream())) {
-         Sheet sheet = workbook.getSheetAt(0);
-
-         if (sheet.getPhysicalNumberOfRows() == 0) {
-            result.setSuccess(false);
-            result.setMessage("Empty file");
-            return result;
-         }
-
-         int created = 0;
-         int updated = 0;
-         int failed = 0;
-
-         // Skip header row (row 0)
-         for (int rowNum = 1; rowNum <= sheet.getLastRowNum(); rowNum++) {
-            Row row = sheet.getRow(rowNum);
-
-            if (row == null) {
-               continue;
-            }
+   @Timed(CatalogService.TIMER)
+   public ImportResultDTO importFromExcel(InputStream in, ImportProgress progress)
+            throws IOException {
+      ImportResultDTO result;
 
-            try {
-               ConversionDTO dto = parseExcelRow(row);
-               boolean isNew = processConversion(dto);
-
-               if (isNew) {
-                  created++;
-               } else {
-                  updated++;
-               }
-            } catch (Exception e) {
-               errors.add("Row " + (rowNum + 1) + ": " + e.getMessage());
-               failed++;
-            }
+      try (ExcelRowSource<ConversionDTO> rows =
+               ExcelRowSource.open(in, this::parseExcelRow)) {
+         if (rows.isEmpty()) {
+            return emptyFileResult();
          }
 
-         result.setSuccess(failed == 0);
-         result.setCreated(created);
-         result.setUpdated(updated);
-         result.setFailed(failed);
-         result.setErrors(errors);
-         result.setMessage(String.format("Import completed: %d created, %d updated, %d failed",
-                  created, updated, failed));
+         result = bulkImportEngine.importConversions(rows, progress);
       }
 
       log.info("Excel Import result: {}", result.getMessage());
@@ -375,7 +334,7 @@ public class ExportImportService {
    /**
     * Parse an Excel row into ConversionDTO
     */
-   private ConversionDTO parseExcelRow(Row row) {
+   private ConversionDTO parseExcelRow(SheetRow row) {
       ConversionDTO dto = new ConversionDTO();
       dto.setModulo(getCellStringValue(row.getCell(0)));
       dto.setCampo(getCellStringValue(row.getCell(1)));
@@ -388,26 +347,6 @@ public class ExportImportService {
       return dto;
    }
 
-   /**
-    * Process a conversion (create or update)
-    *
-    * @return true if created, false if updated
-    */
-   private boolean processConversion(ConversionDTO dto) {
-      boolean exists = conversionService
-               .getConversion(dto.getModulo(), dto.getCampo(), dto.getValor(), dto.getCadena())
-               .isPresent();
-
-      if (exists) {
-         conversionService.updateConversion(dto.getModulo(), dto.getCampo(), dto.getValor(),
-                  dto.getCadena(), dto);
-         return false;
-      } else {
-         conversionService.createConversion(dto);
-         return true;
-      }
-   }
-
    /**
     * Validate a ConversionDTO
     */
@@ -449,14 +388,11 @@ public class ExportImportService {
   /**
     * Helper method to get cell string value
     */
-   private String getCellStringValue(Cell cell) {
-      if (cell == null) {
-         return null;
-      }
-      return switch (cell.getCellType()) {
-         case STRING -> cell.getStringCellValue().trim();
-         case NUMERIC -> String.valueOf((int) cell.getNumericCellValue());
-         case BLANK -> null;
+   private String getCellStringValue(Object cell) {
+      return switch (cell) {
+         case null -> null;
+         case String value -> value.trim();
+         case Double value -> String.valueOf(value.intValue());
          default -> cell.toString().trim();
       };
    }
@@ -464,13 +400,11 @@ public class ExportImportService {
   /**
     * Helper method to get cell integer value
     */
-   private Integer getCellIntValue(Cell cell, String fieldName) {
-      if (cell == null) {
-         throw new IllegalArgumentException(fieldName + " is required");
-      }
-      return switch (cell.getCellType()) {
-         case NUMERIC -> (int) cell.getNumericCellValue();
-         case STRING -> parseInteger(cell.getStringCellValue().trim(), fieldName);
+   private Integer getCellIntValue(Object cell, String fieldName) {
+      return switch (cell) {
+         case null -> throw new IllegalArgumentException(fieldName + " is required");
+         case Double value -> value.intValue();
+         case String value -> parseInteger(value.trim(), fieldName);
          default -> throw new IllegalArgumentException(fieldName + " must be a valid integer");
       };
    }
@@ -478,23 +412,18 @@ public class ExportImportService {
   /**
     * Helper method to get cell integer value with default
     */
-   private Integer getCellIntValueOrDefault(Cell cell, int defaultValue) {
-      if (cell == null || cell.getCellType() == CellType.BLANK) {
-         return defaultValue;
-      }
-      return switch (cell.getCellType()) {
-         case NUMERIC -> (int) cell.getNumericCellValue();
-         case STRING -> {
-            String value = cell.getStringCellValue().trim();
-            yield value.isEmpty() ? defaultValue : Integer.parseInt(value);
-         }
-         default -> defaultValue;
+   private Integer getCellIntValueOrDefault(Object cell, int defaultValue) {
+      return switch (cell) {
+         case Double value -> value.intValue();
+         case String value -> value.isBlank() ? defaultValue : Integer.parseInt(value.trim());
+         case null, default -> defaultValue;
       };
    }
 
    /**
     * Export catalog import template to CSV
     */
+   @Timed(CatalogService.TIMER)
    public byte[] exportCatalogImportTemplateToCsv() throws IOException {
       ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
       try (CSVWriter writer = new CSVWriter(new OutputStreamWriter(outputStream))) {
@@ -507,6 +436,7 @@ public class ExportImportService {
    /**
     * Export catalog import template to Excel
     */
+   @Timed(CatalogService.TIMER)
    public byte[] exportCatalogImportTemplateToExcel() throws IOException {
       try (Workbook workbook = new XSSFWorkbook()) {
          Sheet sheet = workbook.createSheet("Catalogs");
@@ -547,83 +477,18 @@ public class ExportImportService {
    /**
     * Import catalogs (with optional conversions) from CSV file
     */
-   public ImportResultDTO importCatalogsFromCsv(MultipartFile file)
+   @Timed(CatalogService.TIMER)
+   public ImportResultDTO importCatalogsFromCsv(InputStream in, ImportProgress progress)
             throws IOException, CsvException {
-      ImportResultDTO result = new ImportResultDTO();
-      List<String> errors = new ArrayList<>();
-
-      try (CSVReader reader = new CSVReader(new InputStreamReader(file.getInputStream()))) {
-         List<String[]> rows = reader.readAll();
-
-         if (rows.isEmpty()) {
-            result.setSuccess(false);
-            result.setMessage("Empty file");
-            return result;
-         }
-
-         boolean isFirstRow = true;
-         int rowNumber = 0;
-         int catalogsCreated = 0;
-         int catalogsUpdated = 0;
-         int conversionsCreated = 0;
-         int conversionsUpdated = 0;
-         int skippedConversions = 0;
-         int failed = 0;
+      ImportResultDTO result;
 
-         for (String[] row : rows) {
-            rowNumber++;
-
-            if (isFirstRow) {
-               isFirstRow = false;
-               continue;
-            }
-
-            if (row.length < 4) {
-               errors.add("Row " + rowNumber
-                        + ": Invalid number of columns (expected at least 4, got " + row.length
-                        + ")");
-               failed++;
-               continue;
-            }
-
-            try {
-               CatalogImportRow catalogRow = parseCatalogRow(row);
-               CatalogImportResult importResult = processCatalogImport(catalogRow);
-
-               if (importResult.catalogCreated) {
-                  catalogsCreated++;
-               } else if (importResult.catalogUpdated) {
-                  catalogsUpdated++;
-               }
-
-               if (importResult.conversionCreated) {
-                  conversionsCreated++;
-               } else if (importResult.conversionUpdated) {
-                  conversionsUpdated++;
-               } else if (importResult.conversionSkipped) {
-                  skippedConversions++;
-               }
-
-            } catch (Exception e) {
-               errors.add("Row " + rowNumber + ": " + e.getMessage());
-               failed++;
-            }
+      try (CSVReader reader = new CSVReader(new InputStreamReader(in))) {
+         if (reader.readNext() == null) {
+            return emptyFileResult();
          }
 
-         result.setSuccess(failed == 0);
-         result.setCatalogsCreated(catalogsCreated);
-         result.setCatalogsUpdated(catalogsUpdated);
-         result.setConversionsCreated(conversionsCreated);
-         result.setConversionsUpdated(conversionsUpdated);
-         result.setSkippedConversions(skippedConversions);
-         result.setCreated(catalogsCreated + conversionsCreated);
-         result.setUpdated(catalogsUpdated + conversionsUpdated);
-         result.setFailed(failed);
-         result.setErrors(errors);
-         result.setMessage(String.format(
-                  "Import completed: Catalogs (%d created, %d updated), Conversions (%d created, %d updated, %d skipped), %d failed",
-                  catalogsCreated, catalogsUpdated, conversionsCreated, conversionsUpdated,
-                  skippedConversions, failed));
+         result = bulkImportEngine.importCatalogs(csvRows(reader, 4, this::parseCatalogRow,
+                  "Invalid number of columns (expected at least 4, got %d)"), progress);
       }
 
       log.info("CSV Catalog Import result: {}", result.getMessage());
@@ -633,71 +498,18 @@ public class ExportImportService {
    /**
     * Import catalogs (with optional conversions) from Excel file
     */
-   public ImportResultDTO importCatalogsFromExcel(MultipartFile file) throws IOException {
-      ImportResultDTO result = new ImportResultDTO();
-      List<String> errors = new ArrayList<>();
-
-      try (Workbook workbook = WorkbookFactory.create(file.getInputStream())) {
-         Sheet sheet = workbook.getSheetAt(0);
-
-         if (sheet.getPhysicalNumberOfRows() == 0) {
-            result.setSuccess(false);
-            result.setMessage("Empty file");
-            return result;
-         }
-
-         int catalogsCreated = 0;
-         int catalogsUpdated = 0;
-         int conversionsCreated = 0;
-         int conversionsUpdated = 0;
-         int skippedConversions = 0;
-         int failed = 0;
-
-         for (int rowNum = 1; rowNum <= sheet.getLastRowNum(); rowNum++) {
-            Row row = sheet.getRow(rowNum);
-
-            if (row == null) {
-               continue;
-            }
+   @Timed(CatalogService.TIMER)
+   public ImportResultDTO importCatalogsFromExcel(InputStream in, ImportProgress progress)
+            throws IOException {
+      ImportResultDTO result;
 
-            try {
-               CatalogImportRow catalogRow = parseCatalogExcelRow(row);
-               CatalogImportResult importResult = processCatalogImport(catalogRow);
-
-               if (importResult.catalogCreated) {
-                  catalogsCreated++;
-               } else if (importResult.catalogUpdated) {
-                  catalogsUpdated++;
-               }
-
-               if (importResult.conversionCreated) {
-                  conversionsCreated++;
-               } else if (importResult.conversionUpdated) {
-                  conversionsUpdated++;
-               } else if (importResult.conversionSkipped) {
-                  skippedConversions++;
-               }
-
-            } catch (Exception e) {
-               errors.add("Row " + (rowNum + 1) + ": " + e.getMessage());
-               failed++;
-            }
+      try (ExcelRowSource<CatalogImportRow> rows =
+               ExcelRowSource.open(in, this::parseCatalogExcelRow)) {
+         if (rows.isEmpty()) {
+            return emptyFileResult();
          }
 
-         result.setSuccess(failed == 0);
-         result.setCatalogsCreated(catalogsCreated);
-         result.setCatalogsUpdated(catalogsUpdated);
-         result.setConversionsCreated(conversionsCreated);
-         result.setConversionsUpdated(conversionsUpdated);
-         result.setSkippedConversions(skippedConversions);
-         result.setCreated(catalogsCreated + conversionsCreated);
-         result.setUpdated(catalogsUpdated + conversionsUpdated);
-         result.setFailed(failed);
-         result.setErrors(errors);
-         result.setMessage(String.format(
-                  "Import completed: Catalogs (%d created, %d updated), Conversions (%d created, %d updated, %d skipped), %d failed",
-                  catalogsCreated, catalogsUpdated, conversionsCreated, conversionsUpdated,
-                  skippedConversions, failed));
+         result = bulkImportEngine.importCatalogs(rows, progress);
       }
 
       log.info("Excel Catalog Import result: {}", result.getMessage());
@@ -705,20 +517,41 @@ public class ExportImportService {
    }
 
    /**
-    * Internal class to hold parsed catalog row data
+    * Stream the remaining CSV rows (after the header) one at a time with readNext, so the file is
+    * never held in memory
     */
-   private record CatalogImportRow(String modulo, String campo, String valor, Integer cadena,
-            String descripcion, Integer orden, String domain, Integer status) {}
+   private <T> RowSource<T> csvRows(CSVReader reader, int minColumns, Function<String[], T> parser,
+            String columnsError) {
+      return sink -> {
+         for (int rowNumber = 2;; rowNumber++) {
+            String[] row;
+            try {
+               row = reader.readNext();
+            } catch (CsvValidationException e) {
+               sink.accept(ParsedRow.failed(rowNumber, e.getMessage()));
+               continue;
+            }
+            if (row == null) {
+               return;
+            }
+
+            if (row.length < minColumns) {
+               sink.accept(ParsedRow.failed(rowNumber, String.format(columnsError, row.length)));
+            } else {
+               sink.accept(ParsedRow.parse(rowNumber, row, parser));
+            }
+         }
+      };
+   }
 
    /**
-    * Internal class to hold import result for a single row
+    * Result returned when the uploaded file has no rows
     */
-   private static class CatalogImportResult {
-      boolean catalogCreated = false;
-      boolean catalogUpdated = false;
-      boolean conversionCreated = false;
-      boolean conversionUpdated = false;
-      boolean conversionSkipped = false;
+   private ImportResultDTO emptyFileResult() {
+      ImportResultDTO result = new ImportResultDTO();
+      result.setSuccess(false);
+      result.setMessage("Empty file");
+      return result;
    }
 
    /**
@@ -745,7 +578,7 @@ public class ExportImportService {
    /**
     * Parse an Excel row into CatalogImportRow
     */
-   private CatalogImportRow parseCatalogExcelRow(Row row) {
+   private CatalogImportRow parseCatalogExcelRow(SheetRow row) {
       String modulo = getCellStringValue(row.getCell(0));
       String campo = getCellStringValue(row.getCell(1));
       String valor = getCellStringValue(row.getCell(2));
@@ -778,83 +611,53 @@ public class ExportImportService {
       }
    }
 
+  /**
+    * Helper method to get cell integer value or null
+    */
+   private Integer getCellIntValueOrNull(Object cell) {
+      return switch (cell) {
+         case Double value -> value.intValue();
+         case String value -> value.isBlank() ? null : Integer.parseInt(value.trim());
+         case null, default -> null;
+      };
+   }
+
    /**
-    * Process a catalog import row - creates/updates catalog and optionally conversion
+    * Tracks the longest value per column over the first rows of an export
     */
-   private CatalogImportResult processCatalogImport(CatalogImportRow row) {
-      CatalogImportResult result = new CatalogImportResult();
-
-      // Try to create/update the catalog
-      CatalogItemDTO catalogDTO = new CatalogItemDTO();
-      catalogDTO.setModulo(row.modulo());
-      catalogDTO.setCampo(row.campo());
-      catalogDTO.setValor(row.valor());
-      catalogDTO.setSbsNo(row.cadena());
-      catalogDTO.setDescripcion(row.descripcion());
-      catalogDTO.setOrden(row.orden());
-      catalogDTO.setActivo(1);
-
-      // Check if catalog exists
-      boolean catalogExists =
-               catalogService.catalogExists(row.modulo(), row.campo(), row.valor(), row.cadena());
-
-      if (catalogExists) {
-         // Catalog exists - update is not supported in bulk import to avoid accidental
-         // overwrites
-         result.catalogUpdated = true;
-      } else {
-         // Create new catalog
-         try {
-            catalogService.createLegacyCatalog(catalogDTO);
-            result.catalogCreated = true;
-         } catch (IllegalStateException e) {
-            // Catalog exists in RPRO, treat as "updated" (no action taken)
-            result.catalogUpdated = true;
+   private static final class ColumnWidthSampler {
+
+      // Excel caps column widths at 255 characters
+      private static final int MAX_WIDTH_CHARS = 255;
+
+      private final int[] maxLengths;
+      private final int sampleRows;
+      private int sampled;
+
+      ColumnWidthSampler(String[] headers, int sampleRows) {
+         this.maxLengths = new int[headers.length];
+         this.sampleRows = sampleRows;
+         for (int i = 0; i < headers.length; i++) {
+            maxLengths[i] = headers[i].length();
          }
       }
 
-      // Process conversion if domain is provided
-      if (row.domain() != null && !row.domain().isEmpty()) {
-         ConversionDTO conversionDTO = new ConversionDTO();
-         conversionDTO.setModulo(row.modulo());
-         conversionDTO.setCampo(row.campo());
-         conversionDTO.setValor(row.valor());
-         conversionDTO.setCadena(row.cadena());
-         conversionDTO.setDomain(row.domain());
-         conversionDTO.setStatus(row.status());
-
-         boolean conversionExists = conversionService
-                  .getConversion(row.modulo(), row.campo(), row.valor(), row.cadena()).isPresent();
-
-         if (conversionExists) {
-            conversionService.updateConversion(row.modulo(), row.campo(), row.valor(), row.cadena(),
-                     conversionDTO);
-            result.conversionUpdated = true;
-         } else {
-            conversionService.createConversion(conversionDTO);
-            result.conversionCreated = true;
+      void sample(Row row) {
+         if (sampled++ >= sampleRows) {
+            return;
+         }
+         for (int i = 0; i < maxLengths.length; i++) {
+            Cell cell = row.getCell(i);
+            if (cell != null) {
+               maxLengths[i] = Math.max(maxLengths[i], cell.getStringCellValue().length());
+            }
          }
-      } else {
-         result.conversionSkipped = true;
       }
 
-      return result;
-   }
-
-  /**
-    * Helper method to get cell integer value or null
-    */
-   private Integer getCellIntValueOrNull(Cell cell) {
-      if (cell == null || cell.getCellType() == CellType.BLANK) {
-         return null;
-      }
-      return switch (cell.getCellType()) {
-         case NUMERIC -> (int) cell.getNumericCellValue();
-         case STRING -> {
-            String value = cell.getStringCellValue().trim();
-            yield value.isEmpty() ? null : Integer.parseInt(value);
+      void apply(Sheet sheet) {
+         for (int i = 0; i < maxLengths.length; i++) {
+            sheet.setColumnWidth(i, Math.min(maxLengths[i] + 2, MAX_WIDTH_CHARS) * 256);
          }
-         default -> null;
-      };
+      }
    }
 }
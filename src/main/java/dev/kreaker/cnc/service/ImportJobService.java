@@ -0,0 +1,186 @@
+/* (c) 2026 Alejandro Lopez Monzon <alejandro@kreaker.dev> for Kreaker Developments */
+package dev.kreaker.cnc.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.*;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.opencsv.exceptions.CsvException;
+
+import dev.kreaker.cnc.service.dto.ImportResultDTO;
+import dev.kreaker.cnc.service.importer.ImportJob;
+import dev.kreaker.cnc.service.query.QueryBudgetMonitor;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs imports in the background. Uploads are spooled to disk and queued on a small bounded
+ * executor, so at most max-concurrent imports hold a database connection at the same time and
+ * the request thread returns as soon as the file is stored.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class ImportJobService {
+
+   private final ExportImportService exportImportService;
+   private final QueryBudgetMonitor queryBudgetMonitor;
+   private final MeterRegistry meterRegistry;
+   private final DatabaseAdmission databaseAdmission;
+
+   private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+
+   // Each running import uses one connection of the (small) Hikari pool
+   @Value("${cnc.import.jobs.max-concurrent:2}")
+   private int maxConcurrent;
+
+   @Value("${cnc.import.jobs.queue-capacity:10}")
+   private int queueCapacity;
+
+   @Value("${cnc.import.jobs.retention:PT1H}")
+   private Duration retention;
+
+   @Value("${cnc.import.jobs.spool-dir:${java.io.tmpdir}}")
+   private Path spoolDir;
+
+   @Value("${spring.threads.virtual.enabled:false}")
+   private boolean virtualThreads;
+
+   private ThreadPoolExecutor executor;
+
+   @PostConstruct
+   void init() {
+      // The pool still bounds concurrency; virtual threads only make a blocked job cheap
+      ThreadFactory threadFactory = virtualThreads
+               ? Thread.ofVirtual().name("import-job-", 1).factory()
+               : Thread.ofPlatform().name("import-job-", 1).factory();
+      executor = new ThreadPoolExecutor(maxConcurrent, maxConcurrent, 0L, TimeUnit.MILLISECONDS,
+               new ArrayBlockingQueue<>(queueCapacity), threadFactory);
+   }
+
+   @PreDestroy
+   void shutdown() {
+      executor.shutdownNow();
+   }
+
+   /**
+    * Spool the upload and queue it for import
+    *
+    * @throws IllegalStateException when the queue is full
+    */
+   public ImportJob submit(ImportJob.Type type, MultipartFile file, String owner)
+            throws IOException {
+      Files.createDirectories(spoolDir);
+      Path spoolFile = Files.createTempFile(spoolDir, "cnc-import-", ".upload");
+      file.transferTo(spoolFile);
+
+      ImportJob job = new ImportJob(UUID.randomUUID().toString(), type,
+               file.getOriginalFilename(), owner, spoolFile);
+      jobs.put(job.getId(), job);
+
+      try {
+         // Carries the security context so the import is audited as the uploading user
+         executor.execute(new DelegatingSecurityContextRunnable(() -> run(job)));
+      } catch (RejectedExecutionException e) {
+         jobs.remove(job.getId());
+         Files.deleteIfExists(spoolFile);
+         throw new IllegalStateException("Too many imports in progress, please try again later");
+      }
+
+      log.info("Queued {} import job {} for file {} ({})", type, job.getId(),
+               job.getFilename(), owner);
+      return job;
+   }
+
+   /**
+    * Find a job of the given user
+    */
+   public Optional<ImportJob> findJob(String id, String owner) {
+      return Optional.ofNullable(jobs.get(id)).filter(job -> job.getOwner().equals(owner));
+   }
+
+   public Optional<ImportJob> cancel(String id, String owner) {
+      Optional<ImportJob> job = findJob(id, owner);
+      job.ifPresent(ImportJob::cancel);
+      return job;
+   }
+
+   /**
+    * Forget finished jobs after the retention period
+    */
+   @Scheduled(fixedDelayString = "${cnc.import.jobs.cleanup-interval:600000}")
+   public void evictFinishedJobs() {
+      LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+      jobs.values().removeIf(job -> job.getState().isFinished() && job.getFinishedAt() != null
+               && job.getFinishedAt().isBefore(cutoff));
+   }
+
+   private void run(ImportJob job) {
+      try {
+         if (!job.start()) {
+            return;
+         }
+
+         try (InputStream in = Files.newInputStream(job.getSpoolFile());
+                  var _ = queryBudgetMonitor.open("import " + job.getType() + " " + job.getId(),
+                           queryBudgetMonitor.getImportBudget());
+                  var _ = databaseAdmission.as(DatabaseAdmission.WorkClass.BULK)) {
+            job.complete(runImport(job, in));
+            log.info("Import job {} finished: {}", job.getId(), job.getResult().getMessage());
+         } catch (CancellationException e) {
+            log.info("Import job {} cancelled after {} rows", job.getId(), job.getRowsParsed());
+            job.fail(ImportJob.State.CANCELLED, "Import cancelled");
+         } catch (Exception e) {
+            log.error("Import job {} failed", job.getId(), e);
+            job.fail(ImportJob.State.FAILED, "Error importing file: " + e.getMessage());
+         }
+      } finally {
+         recordRowMetrics(job);
+         try {
+            Files.deleteIfExists(job.getSpoolFile());
+         } catch (IOException e) {
+            log.warn("Could not delete spooled upload {}", job.getSpoolFile(), e);
+         }
+      }
+   }
+
+   /**
+    * Add the rows written by a finished (or failed) job to the cnc.import.rows counters
+    */
+   private void recordRowMetrics(ImportJob job) {
+      String type = job.getType().name();
+      meterRegistry.counter("cnc.import.rows", "type", type, "result", "created")
+               .increment(job.getCreated());
+      meterRegistry.counter("cnc.import.rows", "type", type, "result", "updated")
+               .increment(job.getUpdated());
+      meterRegistry.counter("cnc.import.rows", "type", type, "result", "failed")
+               .increment(job.getFailed());
+   }
+
+   private ImportResultDTO runImport(ImportJob job, InputStream in)
+            throws IOException, CsvException {
+      return switch (job.getType()) {
+         case CONVERSIONS -> job.isCsv() ? exportImportService.importFromCsv(in, job)
+                  : exportImportService.importFromExcel(in, job);
+         case CATALOGS -> job.isCsv() ? exportImportService.importCatalogsFromCsv(in, job)
+                  : exportImportService.importCatalogsFromExcel(in, job);
+      };
+   }
+}
@@ -0,0 +1,146 @@
+/* (c) 2026 Alejandro Lopez Monzon <alejandro@kreaker.dev> for Kreaker Developments */
+package dev.kreaker.cnc.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Component;
+
+import dev.kreaker.cnc.service.query.QueryBudgetMonitor;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Runs independent read queries of one caller at the same time, each on its own pooled
+ * connection. The caller's thread runs queries itself while it waits and at most one extra
+ * virtual thread runs the others, so a fan-out holds the caller's permit plus one more. Queries
+ * keep the caller's {@link DatabaseAdmission} work class and {@link QueryBudgetMonitor} scope.
+ */
+@Component
+@RequiredArgsConstructor
+public class ParallelFetch {
+
+   // Queries running beside the caller's own
+   private static final int EXTRA_QUERIES = 1;
+
+   private final DatabaseAdmission databaseAdmission;
+   private final QueryBudgetMonitor queryBudgetMonitor;
+
+   /**
+    * Start a fan-out keeping the current thread's work class
+    */
+   public Fork fork() {
+      return fork(databaseAdmission.current());
+   }
+
+   /**
+    * Start a fan-out whose queries run as the given work class
+    */
+   public Fork fork(DatabaseAdmission.WorkClass workClass) {
+      return new Fork(workClass);
+   }
+
+   /**
+    * One fan-out; closing it cancels the queries not started yet and waits for the running ones,
+    * so none outlives the caller
+    */
+   public final class Fork implements AutoCloseable {
+
+      private final DatabaseAdmission.WorkClass workClass;
+      private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+      private final Semaphore extra = new Semaphore(EXTRA_QUERIES);
+      // Touched by the caller's thread only
+      private final List<Pending<?>> submitted = new ArrayList<>();
+
+      private Fork(DatabaseAdmission.WorkClass workClass) {
+         this.workClass = workClass;
+      }
+
+      public <T> Pending<T> submit(Supplier<T> query) {
+         Supplier<T> scoped = queryBudgetMonitor.propagate(query);
+         Pending<T> pending = new Pending<>(() -> {
+            try (var _ = databaseAdmission.as(workClass)) {
+               return scoped.get();
+            }
+         });
+         submitted.add(pending);
+         executor.execute(() -> {
+            extra.acquireUninterruptibly();
+            try {
+               pending.run();
+            } finally {
+               extra.release();
+            }
+         });
+         return pending;
+      }
+
+      /**
+       * Result of a submitted query. Until it is ready the caller's thread runs the queries no
+       * one has started, in submission order. Rethrows the query's own exception.
+       */
+      public <T> T join(Pending<T> pending) {
+         for (Pending<?> next : submitted) {
+            if (pending.result.isDone()) {
+               break;
+            }
+            next.run();
+         }
+         try {
+            return pending.result.join();
+         } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+               throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+               throw error;
+            }
+            throw e;
+         }
+      }
+
+      @Override
+      public void close() {
+         submitted.forEach(Pending::cancel);
+         executor.close();
+      }
+   }
+
+   /**
+    * A submitted query, run exactly once by whichever thread claims it first
+    */
+   public static final class Pending<T> {
+
+      private final Supplier<T> query;
+      private final AtomicBoolean claimed = new AtomicBoolean();
+      private final CompletableFuture<T> result = new CompletableFuture<>();
+
+      private Pending(Supplier<T> query) {
+         this.query = query;
+      }
+
+      private void run() {
+         if (!claimed.compareAndSet(false, true)) {
+            return;
+         }
+         try {
+            result.complete(query.get());
+         } catch (Throwable e) {
+            result.completeExceptionally(e);
+         }
+      }
+
+      private void cancel() {
+         if (claimed.compareAndSet(false, true)) {
+            result.cancel(false);
+         }
+      }
+   }
+}
@@ -0,0 +1,42 @@
+/* (c) 2026 Alejandro Lopez Monzon <alejandro@kreaker.dev> for Kreaker Developments */
+package dev.kreaker.cnc.service;
+
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.stereotype.Service;
+
+import dev.kreaker.cnc.domain.entity.RvRproCatalogo;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Admin refresh of the cached RV_RPRO_CATALOGO data, for when another application changed the
+ * table and waiting for the cache TTL is not an option
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class RproCacheService {
+
+   private final EntityManagerFactory entityManagerFactory;
+   private final CatalogSnapshot catalogSnapshot;
+   private final CatalogFacetService catalogFacetService;
+
+   /**
+    * Evict the second-level entity and query caches, then reload the snapshot and facets so every
+    * read path sees Oracle's current rows
+    */
+   public void refresh() {
+      Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+      cache.evictEntityData(RvRproCatalogo.class);
+      cache.evictQueryRegion(RvRproCatalogo.QUERY_CACHE_REGION);
+      cache.evictDefaultQueryRegion();
+      catalogFacetService.invalidate();
+      if (catalogSnapshot.isReady()) {
+         catalogSnapshot.reload();
+      }
+      log.info("RPRO catalog caches refreshed");
+   }
+}
@@ -0,0 +1,37 @@
+/* (c) 2026 Alejandro Lopez Monzon <alejandro@kreaker.dev> for Kreaker Developments */
+package dev.kreaker.cnc.service.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Distinct modulos, campos and sbsNos of the unified catalog with their row counts. All maps are
+ * sorted by key.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CatalogFacetsDTO {
+
+   private Map<String, Long> modulos;
+   private Map<String, Long> campos;
+   private Map<Integer, Long> sbsNos;
+   private Map<String, List<String>> camposByModulo;
+
+   public List<String> getModuloNames() {
+      return new ArrayList<>(modulos.keySet());
+   }
+
+   public List<String> getCampoNames() {
+      return new ArrayList<>(campos.keySet());
+   }
+
+   public List<Integer> getSbsNoValues() {
+      return new ArrayList<>(sbsNos.keySet());
+   }
+}
@@ -1,6 +1,7 @@
 /* (c) 2026 Alejandro Lopez Monzon <alejandro@kreaker.dev> for Kreaker Developments */
 package dev.kreaker.cnc.service.dto;
 
+import dev.kreaker.cnc.domain.model.CatalogCriteria;
 import dev.kreaker.cnc.domain.model.CatalogSource;
 
 import lombok.AllArgsConstructor;
@@ -27,4 +28,9 @@ public class CatalogFilterDTO {
    public String getSearchTermNormalized() {
       return searchTerm != null ? searchTerm.trim().toLowerCase() : null;
    }
+
+   public CatalogCriteria toCriteria() {
+      return new CatalogCriteria(modulo, campo, sbsNo, source, hasConversion,
+               getSearchTermNormalized());
+   }
 }
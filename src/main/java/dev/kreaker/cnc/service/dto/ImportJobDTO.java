@@ -0,0 +1,49 @@
+/* (c) 2026 Alejandro Lopez Monzon <alejandro@kreaker.dev> for Kreaker Developments */
+package dev.kreaker.cnc.service.dto;
+
+import java.time.LocalDateTime;
+
+import dev.kreaker.cnc.service.importer.ImportJob;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Point-in-time status of an import job, served by the job status endpoint
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportJobDTO {
+
+   private String id;
+   private ImportJob.Type type;
+   private String filename;
+   private ImportJob.State state;
+   private boolean finished;
+   private long rowsParsed;
+   private long created;
+   private long updated;
+   private long failed;
+   private LocalDateTime submittedAt;
+   private LocalDateTime startedAt;
+   private LocalDateTime finishedAt;
+   private String message;
+
+   public static ImportJobDTO fromJob(ImportJob job) {
+      ImportJob.State state = job.getState();
+      String message = job.getError();
+      if (job.getResult() != null) {
+         message = job.getResult().getMessage();
+      }
+      return ImportJobDTO.builder().id(job.getId()).type(job.getType())
+               .filename(job.getFilename()).state(state).finished(state.isFinished())
+               .rowsParsed(job.getRowsParsed()).created(job.getCreated())
+               .updated(job.getUpdated()).failed(job.getFailed())
+               .submittedAt(job.getSubmittedAt()).startedAt(job.getStartedAt())
+               .finishedAt(job.getFinishedAt()).message(message).build();
+   }
+}
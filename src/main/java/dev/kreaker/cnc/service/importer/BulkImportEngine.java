@@ -0,0 +1,585 @@
+/* (c) 2026 Alejandro Lopez Monzon <alejandro@kreaker.dev> for Kreaker Developments */
+package dev.kreaker.cnc.service.importer;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import dev.kreaker.cnc.domain.entity.AlCatalogTwostep;
+import dev.kreaker.cnc.domain.entity.AlCatalogTwostepId;
+import dev.kreaker.cnc.domain.entity.RvCatalogos;
+import dev.kreaker.cnc.domain.repository.AlCatalogTwostepRepository;
+import dev.kreaker.cnc.domain.repository.RvCatalogosRepository;
+import dev.kreaker.cnc.domain.repository.RvRproCatalogoRepository;
+import dev.kreaker.cnc.service.CatalogFacetService;
+import dev.kreaker.cnc.service.CatalogIdAllocator;
+import dev.kreaker.cnc.service.CatalogSnapshot;
+import dev.kreaker.cnc.service.dto.ConversionDTO;
+import dev.kreaker.cnc.service.dto.ImportResultDTO;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Set-based import engine for catalog and conversion files.
+ *
+ * <p>
+ * Rows are streamed from a {@link RowSource} by a parser thread into a bounded queue and
+ * processed in chunks by the calling thread: the keys of a chunk are resolved with a few IN
+ * queries, every row is classified as create, update or skip, and the chunk is written with JDBC
+ * batches in its own transaction. If a chunk fails it is replayed row by row so only the offending
+ * rows are reported as failed; replayed rows are planned again against the database, since the
+ * plan of a repeated key assumed its earlier occurrence in the chunk was written.
+ */
+@Service
+@Slf4j
+public class BulkImportEngine {
+
+   private static final String INSERT_CATALOG = """
+            INSERT INTO REPORTUSER.RV_CATALOGOS (P_ID, SBS_NO, MODULO, CAMPO, VALOR, DESCRIPCION,
+                   ACTIVO, ORDEN, CREADO_POR, FECHA_CREACION, ESTADO)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)""";
+
+   private static final String INSERT_CONVERSION = """
+            INSERT INTO REPORTUSER.AL_CATALOG_TWOSTEP (MODULO, CAMPO, VALOR, CADENA, DOMAIN, STATUS,
+                   CREATED_AT, CREATED_BY, MODIFIED_AT, MODIFIED_BY)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)""";
+
+   private static final String UPDATE_CONVERSION = """
+            UPDATE REPORTUSER.AL_CATALOG_TWOSTEP
+               SET DOMAIN = ?, STATUS = ?, MODIFIED_AT = ?, MODIFIED_BY = ?
+             WHERE MODULO = ? AND CAMPO = ? AND VALOR = ? AND CADENA = ?""";
+
+   private final JdbcTemplate jdbcTemplate;
+   private final TransactionTemplate transactionTemplate;
+   private final RvCatalogosRepository catalogosRepository;
+   private final RvRproCatalogoRepository rproCatalogoRepository;
+   private final AlCatalogTwostepRepository conversionRepository;
+   private final CatalogIdAllocator catalogIdAllocator;
+   private final CatalogSnapshot catalogSnapshot;
+   private final CatalogFacetService catalogFacetService;
+   private final AuditorAware<String> auditorProvider;
+
+   // Also bounds the IN lists of the key queries (Oracle allows at most 1000 items)
+   @Value("${cnc.import.chunk-size:500}")
+   private int chunkSize;
+
+   // Parsed chunks waiting for the writer stage
+   @Value("${cnc.import.queue-capacity:4}")
+   private int queueCapacity;
+
+   @Value("${spring.threads.virtual.enabled:false}")
+   private boolean virtualThreads;
+
+   public BulkImportEngine(@Qualifier("oracleJdbcTemplate") JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            RvCatalogosRepository catalogosRepository,
+            RvRproCatalogoRepository rproCatalogoRepository,
+            AlCatalogTwostepRepository conversionRepository, CatalogIdAllocator catalogIdAllocator,
+            CatalogSnapshot catalogSnapshot, CatalogFacetService catalogFacetService,
+            @Qualifier("auditorProvider") AuditorAware<String> auditorProvider) {
+      this.jdbcTemplate = jdbcTemplate;
+      this.transactionTemplate = new TransactionTemplate(transactionManager);
+      this.catalogosRepository = catalogosRepository;
+      this.rproCatalogoRepository = rproCatalogoRepository;
+      this.conversionRepository = conversionRepository;
+      this.catalogIdAllocator = catalogIdAllocator;
+      this.catalogSnapshot = catalogSnapshot;
+      this.catalogFacetService = catalogFacetService;
+      this.auditorProvider = auditorProvider;
+   }
+
+   /**
+    * Import conversions: existing keys are updated, new keys are created when the catalog item
+    * exists in LEGACY or RPRO
+    */
+   public ImportResultDTO importConversions(RowSource<ConversionDTO> source,
+            ImportProgress progress) throws IOException {
+      ImportTally tally = new ImportTally(progress);
+      pipeline(source, progress, chunk -> importConversionChunk(chunk, tally));
+      return tally.toConversionResult();
+   }
+
+   /**
+    * Import catalogs with optional conversions: missing catalogs are created in RV_CATALOGOS,
+    * existing ones are left untouched and counted as updated
+    */
+   public ImportResultDTO importCatalogs(RowSource<CatalogImportRow> source,
+            ImportProgress progress) throws IOException {
+      ImportTally tally = new ImportTally(progress);
+      pipeline(source, progress, chunk -> importCatalogChunk(chunk, tally));
+      return tally.toCatalogResult();
+   }
+
+   /**
+    * Run the parser stage on its own thread and write chunks on the calling thread, which keeps
+    * the security context for auditing. The bounded queue caps memory at a few chunks and blocks
+    * the parser when the database falls behind.
+    */
+   private <T> void pipeline(RowSource<T> source, ImportProgress progress,
+            Consumer<List<ParsedRow<T>>> writer) throws IOException {
+      BlockingQueue<List<ParsedRow<T>>> queue = new ArrayBlockingQueue<>(queueCapacity);
+      AtomicReference<Exception> parseError = new AtomicReference<>();
+
+      Thread.Builder parserThread =
+               virtualThreads ? Thread.ofVirtual() : Thread.ofPlatform().daemon(true);
+      Thread parser = parserThread.name("import-parser").start(() -> {
+         try {
+            try {
+               readChunks(source, progress, queue);
+            } catch (CancellationException e) {
+               // The writer stage gave up, nobody is reading the queue anymore
+               return;
+            } catch (IOException | RuntimeException e) {
+               parseError.set(e);
+            }
+            queue.put(List.of());
+         } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+         }
+      });
+
+      try {
+         for (List<ParsedRow<T>> chunk = queue.take(); !chunk.isEmpty(); chunk = queue.take()) {
+            if (progress.isCancelled()) {
+               throw new CancellationException("Import cancelled");
+            }
+            writer.accept(chunk);
+         }
+      } catch (InterruptedException e) {
+         Thread.currentThread().interrupt();
+         throw new InterruptedIOException("Import interrupted");
+      } finally {
+         parser.interrupt();
+      }
+
+      Exception error = parseError.get();
+      if (error instanceof IOException ioException) {
+         throw ioException;
+      }
+      if (error instanceof RuntimeException runtimeException) {
+         throw runtimeException;
+      }
+   }
+
+   private <T> void readChunks(RowSource<T> source, ImportProgress progress,
+            BlockingQueue<List<ParsedRow<T>>> queue) throws IOException, InterruptedException {
+      List<ParsedRow<T>> chunk = new ArrayList<>(chunkSize);
+      source.read(row -> {
+         progress.rowParsed();
+         chunk.add(row);
+         if (chunk.size() == chunkSize) {
+            put(queue, List.copyOf(chunk));
+            chunk.clear();
+         }
+      });
+      if (!chunk.isEmpty()) {
+         queue.put(chunk);
+      }
+   }
+
+   private static <T> void put(BlockingQueue<T> queue, T element) {
+      try {
+         queue.put(element);
+      } catch (InterruptedException e) {
+         Thread.currentThread().interrupt();
+         throw new CancellationException("Import writer stopped");
+      }
+   }
+
+   private void importConversionChunk(List<ParsedRow<ConversionDTO>> chunk, ImportTally tally) {
+      List<ParsedRow<ConversionDTO>> valid = tally.collectFailures(chunk);
+      if (valid.isEmpty()) {
+         return;
+      }
+
+      Set<String> modulos = new HashSet<>();
+      Set<String> campos = new HashSet<>();
+      valid.forEach(row -> {
+         modulos.add(row.value().getModulo());
+         campos.add(row.value().getCampo());
+      });
+      Set<AlCatalogTwostepId> conversionKeys = findConversionKeys(modulos, campos);
+      Set<AlCatalogTwostepId> catalogKeys = findCatalogKeys(modulos, campos);
+
+      List<RowPlan> plans = new ArrayList<>(valid.size());
+      for (ParsedRow<ConversionDTO> row : valid) {
+         ConversionDTO dto = row.value();
+         AlCatalogTwostepId key = dto.toId();
+         boolean exists = conversionKeys.contains(key);
+
+         if (!exists && !catalogKeys.contains(key)) {
+            tally.fail(row.rowNumber(),
+                     "Catalog item not found: modulo=" + dto.getModulo() + ", campo="
+                              + dto.getCampo() + ", valor=" + dto.getValor() + ", cadena="
+                              + dto.getCadena());
+            continue;
+         }
+
+         RowPlan plan = new RowPlan(row.rowNumber());
+         plan.conversion = dto.toEntity();
+         plan.conversionExists = exists;
+         conversionKeys.add(key);
+         plans.add(plan);
+      }
+
+      write(plans, tally);
+   }
+
+   private void importCatalogChunk(List<ParsedRow<CatalogImportRow>> chunk, ImportTally tally) {
+      List<ParsedRow<CatalogImportRow>> valid = tally.collectFailures(chunk);
+      if (valid.isEmpty()) {
+         return;
+      }
+
+      Set<String> modulos = new HashSet<>();
+      Set<String> campos = new HashSet<>();
+      valid.forEach(row -> {
+         modulos.add(row.value().modulo());
+         campos.add(row.value().campo());
+      });
+      Set<AlCatalogTwostepId> catalogKeys = findCatalogKeys(modulos, campos);
+      Set<AlCatalogTwostepId> conversionKeys = findConversionKeys(modulos, campos);
+
+      List<RowPlan> plans = new ArrayList<>(valid.size());
+      for (ParsedRow<CatalogImportRow> row : valid) {
+         CatalogImportRow value = row.value();
+         AlCatalogTwostepId key =
+                  new AlCatalogTwostepId(value.modulo(), value.campo(), value.valor(),
+                           value.cadena());
+         RowPlan plan = new RowPlan(row.rowNumber());
+         plan.catalogRow = value;
+         plan.catalogKey = key;
+
+         // Existing catalogs are not modified by bulk import to avoid accidental overwrites
+         if (catalogKeys.add(key)) {
+            plan.newCatalog = newLegacyCatalog(value);
+         } else {
+            plan.catalogExisted = true;
+         }
+
+         if (value.hasConversion()) {
+            AlCatalogTwostep conversion = new AlCatalogTwostep();
+            conversion.setId(key);
+            conversion.setDomain(value.domain());
+            conversion.setStatus(value.status());
+            plan.conversion = conversion;
+            plan.conversionExists = !conversionKeys.add(key);
+         } else {
+            plan.conversionSkipped = true;
+         }
+         plans.add(plan);
+      }
+
+      write(plans, tally);
+   }
+
+   private Set<AlCatalogTwostepId> findCatalogKeys(Set<String> modulos, Set<String> campos) {
+      Set<AlCatalogTwostepId> keys = new HashSet<>(catalogosRepository.findKeys(modulos, campos));
+      keys.addAll(rproCatalogoRepository.findKeys(modulos, campos));
+      return keys;
+   }
+
+   private Set<AlCatalogTwostepId> findConversionKeys(Set<String> modulos, Set<String> campos) {
+      return new HashSet<>(conversionRepository.findKeys(modulos, campos));
+   }
+
+   private RvCatalogos newLegacyCatalog(CatalogImportRow row) {
+      RvCatalogos entity = new RvCatalogos();
+      entity.setId(catalogIdAllocator.nextId());
+      entity.setSbsNo(Objects.requireNonNullElse(row.cadena(), 1));
+      entity.setModulo(row.modulo());
+      entity.setCampo(row.campo());
+      entity.setValor(row.valor());
+      entity.setDescripcion(row.descripcion());
+      entity.setOrden(row.orden());
+      entity.setActivo(1);
+      entity.setCreadoPor("SYSTEM");
+      entity.setEstado("PENDIENTE");
+      return entity;
+   }
+
+   /**
+    * Write a chunk in one transaction; on failure replay it row by row
+    */
+   private void write(List<RowPlan> plans, ImportTally tally) {
+      if (plans.isEmpty()) {
+         return;
+      }
+      try {
+         transactionTemplate.executeWithoutResult(_ -> writeBatch(plans));
+         plans.forEach(tally::count);
+      } catch (DataAccessException | TransactionException e) {
+         log.warn("Import chunk of {} rows failed, retrying row by row: {}", plans.size(),
+                  NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+         for (RowPlan plan : plans) {
+            try {
+               transactionTemplate.executeWithoutResult(_ -> {
+                  replan(plan);
+                  writeBatch(List.of(plan));
+               });
+               tally.count(plan);
+            } catch (DataAccessException | TransactionException rowError) {
+               tally.fail(plan.rowNumber,
+                        NestedExceptionUtils.getMostSpecificCause(rowError).getMessage());
+            }
+         }
+      }
+   }
+
+   /**
+    * Check a replayed row against the database: an earlier row of the chunk with the same key may
+    * have failed, leaving nothing for this one to update or skip
+    */
+   private void replan(RowPlan plan) {
+      if (plan.catalogRow != null) {
+         CatalogImportRow row = plan.catalogRow;
+         boolean exists = findCatalogKeys(Set.of(row.modulo()), Set.of(row.campo()))
+                  .contains(plan.catalogKey);
+         if (exists) {
+            plan.newCatalog = null;
+            plan.catalogExisted = true;
+         } else if (plan.newCatalog == null) {
+            plan.newCatalog = newLegacyCatalog(row);
+            plan.catalogExisted = false;
+         }
+      }
+      if (plan.conversion != null) {
+         plan.conversionExists = conversionRepository.existsById(plan.conversion.getId());
+      }
+   }
+
+   private void writeBatch(List<RowPlan> plans) {
+      LocalDateTime now = LocalDateTime.now().withNano(0);
+      Timestamp timestamp = Timestamp.valueOf(now);
+      String auditor = auditorProvider.getCurrentAuditor().orElse(null);
+
+      List<RvCatalogos> catalogs = new ArrayList<>();
+      List<AlCatalogTwostep> inserts = new ArrayList<>();
+      List<AlCatalogTwostep> updates = new ArrayList<>();
+      for (RowPlan plan : plans) {
+         if (plan.newCatalog != null) {
+            plan.newCatalog.setFechaCreacion(now);
+            catalogs.add(plan.newCatalog);
+         }
+         if (plan.conversion != null) {
+            plan.conversion.setModifiedAt(now);
+            plan.conversion.setModifiedBy(auditor);
+            if (plan.conversionExists) {
+               updates.add(plan.conversion);
+            } else {
+               plan.conversion.setCreatedAt(now);
+               plan.conversion.setCreatedBy(auditor);
+               inserts.add(plan.conversion);
+            }
+         }
+      }
+
+      jdbcTemplate.batchUpdate(INSERT_CATALOG, catalogs, chunkSize, (ps, c) -> {
+         ps.setLong(1, c.getId());
+         ps.setInt(2, c.getSbsNo());
+         ps.setString(3, c.getModulo());
+         ps.setString(4, c.getCampo());
+         ps.setString(5, c.getValor());
+         ps.setString(6, c.getDescripcion());
+         ps.setInt(7, c.getActivo());
+         setInteger(ps, 8, c.getOrden());
+         ps.setString(9, c.getCreadoPor());
+         ps.setTimestamp(10, timestamp);
+         ps.setString(11, c.getEstado());
+      });
+
+      jdbcTemplate.batchUpdate(INSERT_CONVERSION, inserts, chunkSize, (ps, t) -> {
+         ps.setString(1, t.getId().getModulo());
+         ps.setString(2, t.getId().getCampo());
+         ps.setString(3, t.getId().getValor());
+         ps.setInt(4, t.getId().getCadena());
+         ps.setString(5, t.getDomain());
+         setInteger(ps, 6, t.getStatus());
+         ps.setTimestamp(7, timestamp);
+         ps.setString(8, auditor);
+         ps.setTimestamp(9, timestamp);
+         ps.setString(10, auditor);
+      });
+
+      int[][] updated = jdbcTemplate.batchUpdate(UPDATE_CONVERSION, updates, chunkSize, (ps, t) -> {
+         ps.setString(1, t.getDomain());
+         setInteger(ps, 2, t.getStatus());
+         ps.setTimestamp(3, timestamp);
+         ps.setString(4, auditor);
+         ps.setString(5, t.getId().getModulo());
+         ps.setString(6, t.getId().getCampo());
+         ps.setString(7, t.getId().getValor());
+         ps.setInt(8, t.getId().getCadena());
+      });
+      requireUpdated(updates, updated);
+
+      // Registered as after-commit callbacks since we are inside the transaction
+      catalogs.forEach(catalogSnapshot::putLegacy);
+      inserts.forEach(catalogSnapshot::putConversion);
+      updates.forEach(catalogSnapshot::putConversion);
+      if (!catalogs.isEmpty()) {
+         catalogFacetService.invalidate();
+      }
+   }
+
+   /**
+    * Fail the batch when a planned update matched no row (deleted since the keys were read), so
+    * the row is replayed and reported instead of counted as updated
+    */
+   private static void requireUpdated(List<AlCatalogTwostep> updates, int[][] counts) {
+      int index = 0;
+      for (int[] batch : counts) {
+         for (int count : batch) {
+            if (count == 0) {
+               AlCatalogTwostepId id = updates.get(index).getId();
+               throw new EmptyResultDataAccessException("Conversion to update not found: modulo="
+                        + id.getModulo() + ", campo=" + id.getCampo() + ", valor="
+                        + id.getValor() + ", cadena=" + id.getCadena(), 1);
+            }
+            index++;
+         }
+      }
+   }
+
+   private static void setInteger(PreparedStatement ps, int index, Integer value)
+            throws SQLException {
+      if (value != null) {
+         ps.setInt(index, value);
+      } else {
+         ps.setNull(index, Types.INTEGER);
+      }
+   }
+
+   /**
+    * Planned writes and outcome of a single import row
+    */
+   private static final class RowPlan {
+      final int rowNumber;
+      // Source row and key of catalog imports, to plan the row again on replay
+      CatalogImportRow catalogRow;
+      AlCatalogTwostepId catalogKey;
+      RvCatalogos newCatalog;
+      boolean catalogExisted;
+      AlCatalogTwostep conversion;
+      boolean conversionExists;
+      boolean conversionSkipped;
+
+      RowPlan(int rowNumber) {
+         this.rowNumber = rowNumber;
+      }
+   }
+
+   /**
+    * Running counters of an import, turned into an {@link ImportResultDTO} at the end
+    */
+   private static final class ImportTally {
+      int catalogsCreated;
+      int catalogsUpdated;
+      int conversionsCreated;
+      int conversionsUpdated;
+      int skippedConversions;
+      int failed;
+      final SortedMap<Integer, String> errors = new TreeMap<>();
+      final ImportProgress progress;
+
+      ImportTally(ImportProgress progress) {
+         this.progress = progress;
+      }
+
+      <T> List<ParsedRow<T>> collectFailures(List<ParsedRow<T>> chunk) {
+         List<ParsedRow<T>> valid = new ArrayList<>(chunk.size());
+         for (ParsedRow<T> row : chunk) {
+            if (row.isFailed()) {
+               fail(row.rowNumber(), row.error());
+            } else {
+               valid.add(row);
+            }
+         }
+         return valid;
+      }
+
+      void fail(int rowNumber, String message) {
+         errors.put(rowNumber, "Row " + rowNumber + ": " + message);
+         failed++;
+         progress.rowsWritten(0, 0, 1);
+      }
+
+      void count(RowPlan plan) {
+         int created = 0;
+         int updated = 0;
+         if (plan.newCatalog != null) {
+            catalogsCreated++;
+            created++;
+         } else if (plan.catalogExisted) {
+            catalogsUpdated++;
+            updated++;
+         }
+
+         if (plan.conversion != null) {
+            if (plan.conversionExists) {
+               conversionsUpdated++;
+               updated++;
+            } else {
+               conversionsCreated++;
+               created++;
+            }
+         } else if (plan.conversionSkipped) {
+            skippedConversions++;
+         }
+         progress.rowsWritten(created, updated, 0);
+      }
+
+      ImportResultDTO toConversionResult() {
+         ImportResultDTO result = new ImportResultDTO();
+         result.setSuccess(failed == 0);
+         result.setCreated(conversionsCreated);
+         result.setUpdated(conversionsUpdated);
+         result.setFailed(failed);
+         result.setErrors(new ArrayList<>(errors.values()));
+         result.setMessage(String.format("Import completed: %d created, %d updated, %d failed",
+                  conversionsCreated, conversionsUpdated, failed));
+         return result;
+      }
+
+      ImportResultDTO toCatalogResult() {
+         ImportResultDTO result = new ImportResultDTO();
+         result.setSuccess(failed == 0);
+         result.setCatalogsCreated(catalogsCreated);
+         result.setCatalogsUpdated(catalogsUpdated);
+         result.setConversionsCreated(conversionsCreated);
+         result.setConversionsUpdated(conversionsUpdated);
+         result.setSkippedConversions(skippedConversions);
+         result.setCreated(catalogsCreated + conversionsCreated);
+         result.setUpdated(catalogsUpdated + conversionsUpdated);
+         result.setFailed(failed);
+         result.setErrors(new ArrayList<>(errors.values()));
+         result.setMessage(String.format(
+                  "Import completed: Catalogs (%d created, %d updated), Conversions (%d created, %d updated, %d skipped), %d failed",
+                  catalogsCreated, catalogsUpdated, conversionsCreated, conversionsUpdated,
+                  skippedConversions, failed));
+         return result;
+      }
+   }
+}
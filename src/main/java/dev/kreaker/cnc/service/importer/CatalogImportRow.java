@@ -0,0 +1,13 @@
+/* (c) 2026 Alejandro Lopez Monzon <alejandro@kreaker.dev> for Kreaker Developments */
+package dev.kreaker.cnc.service.importer;
+
+/**
+ * Parsed catalog import row (catalog plus optional conversion)
+ */
+public record CatalogImportRow(String modulo, String campo, String valor, Integer cadena,
+         String descripcion, Integer orden, String domain, Integer status) {
+
+   public boolean hasConversion() {
+      return domain != null && !domain.isEmpty();
+   }
+}
@@ -0,0 +1,269 @@
+/* (c) 2026 Alejandro Lopez Monzon <alejandro@kreaker.dev> for Kreaker Developments */
+package dev.kreaker.cnc.service.importer;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.poifs.filesystem.FileMagic;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.usermodel.WorkbookFactory;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
+
+/**
+ * Rows of the first sheet of an uploaded Excel file, skipping the header row.
+ *
+ * <p>
+ * .xlsx files are streamed with POI's event model (XSSFReader + SAX), so only the shared strings
+ * table and the current row are kept in memory. Legacy .xls files (at most 65536 rows) still go
+ * through the workbook DOM. The upload is spooled to a temporary file because the OPC package
+ * needs random access to the zip entries.
+ */
+public final class ExcelRowSource<T> implements RowSource<T>, Closeable {
+
+   private final Path file;
+   private final Function<SheetRow, T> parser;
+   private FileMagic magic;
+   // Legacy .xls workbook, kept open between the emptiness check and the read
+   private Workbook workbook;
+
+   private ExcelRowSource(Path file, Function<SheetRow, T> parser) {
+      this.file = file;
+      this.parser = parser;
+   }
+
+   public static <T> ExcelRowSource<T> open(InputStream in, Function<SheetRow, T> parser)
+            throws IOException {
+      Path file = Files.createTempFile("cnc-import-", ".xlsx");
+      try {
+         Files.copy(in, file, StandardCopyOption.REPLACE_EXISTING);
+      } catch (IOException e) {
+         Files.deleteIfExists(file);
+         throw e;
+      }
+      return new ExcelRowSource<>(file, parser);
+   }
+
+   /**
+    * Whether the first sheet has no rows at all, header included. Checked before the import
+    * starts: an .xlsx sheet is only parsed up to its first row.
+    */
+   public boolean isEmpty() throws IOException {
+      if (!isXlsx()) {
+         return workbook().getSheetAt(0).getPhysicalNumberOfRows() == 0;
+      }
+      FirstRowProbe probe = new FirstRowProbe();
+      parseXlsx(_ -> probe);
+      return !probe.found;
+   }
+
+   @Override
+   public void read(Consumer<ParsedRow<T>> sink) throws IOException {
+      if (isXlsx()) {
+         parseXlsx(pkg -> new SheetHandler(new ReadOnlySharedStringsTable(pkg), sink));
+      } else {
+         readWorkbook(sink);
+      }
+   }
+
+   @Override
+   public void close() throws IOException {
+      try {
+         if (workbook != null) {
+            workbook.close();
+         }
+      } finally {
+         Files.deleteIfExists(file);
+      }
+   }
+
+   private boolean isXlsx() throws IOException {
+      if (magic == null) {
+         try (InputStream in = new BufferedInputStream(Files.newInputStream(file))) {
+            magic = FileMagic.valueOf(in);
+         }
+      }
+      return magic == FileMagic.OOXML;
+   }
+
+   private Workbook workbook() throws IOException {
+      if (workbook == null) {
+         workbook = WorkbookFactory.create(file.toFile(), null, true);
+      }
+      return workbook;
+   }
+
+   private void parseXlsx(HandlerFactory handlerFactory) throws IOException {
+      try (OPCPackage pkg = OPCPackage.open(file.toFile(), PackageAccess.READ)) {
+         XSSFReader reader = new XSSFReader(pkg);
+         Iterator<InputStream> sheets = reader.getSheetsData();
+         if (!sheets.hasNext()) {
+            return;
+         }
+
+         DefaultHandler handler = handlerFactory.create(pkg);
+         try (InputStream sheet = sheets.next()) {
+            XMLReader xmlReader = XMLHelper.newXMLReader();
+            xmlReader.setContentHandler(handler);
+            xmlReader.parse(new InputSource(sheet));
+         }
+      } catch (FirstRowProbe.RowFound e) {
+         // The probe has seen what it needed
+      } catch (OpenXML4JException | SAXException | ParserConfigurationException e) {
+         throw new IOException("Invalid Excel file: " + e.getMessage(), e);
+      }
+   }
+
+   private void readWorkbook(Consumer<ParsedRow<T>> sink) throws IOException {
+      Sheet sheet = workbook().getSheetAt(0);
+
+      // Skip header row (row 0)
+      for (int rowNum = 1; rowNum <= sheet.getLastRowNum(); rowNum++) {
+         Row row = sheet.getRow(rowNum);
+         if (row != null) {
+            sink.accept(ParsedRow.parse(rowNum + 1, SheetRow.of(row), parser));
+         }
+      }
+   }
+
+   @FunctionalInterface
+   private interface HandlerFactory {
+      DefaultHandler create(OPCPackage pkg) throws IOException, SAXException;
+   }
+
+   /**
+    * Stops the SAX parse at the first row element
+    */
+   private static final class FirstRowProbe extends DefaultHandler {
+
+      static final class RowFound extends SAXException {
+         RowFound() {
+            super("Sheet has rows");
+         }
+      }
+
+      private boolean found;
+
+      @Override
+      public void startElement(String uri, String localName, String qName, Attributes attributes)
+               throws SAXException {
+         if ("row".equals(localName)) {
+            found = true;
+            throw new RowFound();
+         }
+      }
+   }
+
+   /**
+    * SAX handler for a sheet part: collects the typed cell values of each row element and emits
+    * the row when it ends
+    */
+   private final class SheetHandler extends DefaultHandler {
+
+      private final ReadOnlySharedStringsTable sharedStrings;
+      private final Consumer<ParsedRow<T>> sink;
+      private final StringBuilder value = new StringBuilder();
+
+      private Object[] cells = new Object[16];
+      private int rowIndex = -1;
+      private int column;
+      private String cellType;
+      private boolean collecting;
+
+      SheetHandler(ReadOnlySharedStringsTable sharedStrings, Consumer<ParsedRow<T>> sink) {
+         this.sharedStrings = sharedStrings;
+         this.sink = sink;
+      }
+
+      @Override
+      public void startElement(String uri, String localName, String qName, Attributes attributes) {
+         switch (localName) {
+            case "row" -> {
+               String ref = attributes.getValue("r");
+               rowIndex = ref != null ? Integer.parseInt(ref) - 1 : rowIndex + 1;
+               column = -1;
+               Arrays.fill(cells, null);
+            }
+            case "c" -> {
+               String ref = attributes.getValue("r");
+               column = ref != null ? new CellReference(ref).getCol() : column + 1;
+               cellType = attributes.getValue("t");
+               value.setLength(0);
+            }
+            // <v> holds the value, <t> the text of inline strings
+            case "v", "t" -> collecting = true;
+            default -> {
+               // Formulas, styles and other elements are not needed
+            }
+         }
+      }
+
+      @Override
+      public void characters(char[] ch, int start, int length) {
+         if (collecting) {
+            value.append(ch, start, length);
+         }
+      }
+
+      @Override
+      public void endElement(String uri, String localName, String qName) {
+         switch (localName) {
+            case "v", "t" -> collecting = false;
+            case "c" -> setCell(column, cellValue());
+            case "row" -> endRow();
+            default -> {
+               // Nothing to do
+            }
+         }
+      }
+
+      private Object cellValue() {
+         if (value.isEmpty()) {
+            return null;
+         }
+         String text = value.toString();
+         return switch (cellType == null ? "n" : cellType) {
+            case "s" -> sharedStrings.getItemAt(Integer.parseInt(text)).getString();
+            case "b" -> "1".equals(text);
+            case "n" -> Double.parseDouble(text);
+            default -> text; // inlineStr, str (formula result) and e (error)
+         };
+      }
+
+      private void setCell(int index, Object cellValue) {
+         if (index >= cells.length) {
+            cells = Arrays.copyOf(cells, Math.max(index + 1, cells.length * 2));
+         }
+         cells[index] = cellValue;
+      }
+
+      private void endRow() {
+         if (rowIndex == 0) {
+            return; // Header row
+         }
+         int length = column + 1;
+         sink.accept(ParsedRow.parse(rowIndex + 1, new SheetRow(Arrays.copyOf(cells, length)),
+                  parser));
+      }
+   }
+}
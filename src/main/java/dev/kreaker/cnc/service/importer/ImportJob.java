@@ -0,0 +1,139 @@
+/* (c) 2026 Alejandro Lopez Monzon <alejandro@kreaker.dev> for Kreaker Developments */
+package dev.kreaker.cnc.service.importer;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+import dev.kreaker.cnc.service.dto.ImportResultDTO;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * Background import of a spooled upload. Doubles as the {@link ImportProgress} of its import, so
+ * the counters can be read while the job runs.
+ */
+@Getter
+public class ImportJob implements ImportProgress {
+
+   public enum Type {
+      CONVERSIONS, CATALOGS
+   }
+
+   public enum State {
+      QUEUED, RUNNING, COMPLETED, FAILED, CANCELLED;
+
+      public boolean isFinished() {
+         return this == COMPLETED || this == FAILED || this == CANCELLED;
+      }
+   }
+
+   private final String id;
+   private final Type type;
+   private final String filename;
+   private final String owner;
+   private final Path spoolFile;
+   private final LocalDateTime submittedAt = LocalDateTime.now();
+
+   @Getter(AccessLevel.NONE)
+   private final AtomicLong rowsParsed = new AtomicLong();
+   @Getter(AccessLevel.NONE)
+   private final AtomicLong created = new AtomicLong();
+   @Getter(AccessLevel.NONE)
+   private final AtomicLong updated = new AtomicLong();
+   @Getter(AccessLevel.NONE)
+   private final AtomicLong failed = new AtomicLong();
+
+   private volatile State state = State.QUEUED;
+   private volatile LocalDateTime startedAt;
+   private volatile LocalDateTime finishedAt;
+   private volatile ImportResultDTO result;
+   private volatile String error;
+   private volatile boolean cancelRequested;
+
+   public ImportJob(String id, Type type, String filename, String owner, Path spoolFile) {
+      this.id = id;
+      this.type = type;
+      this.filename = filename;
+      this.owner = owner;
+      this.spoolFile = spoolFile;
+   }
+
+   public boolean isCsv() {
+      return filename.toLowerCase().endsWith(".csv");
+   }
+
+   public long getRowsParsed() {
+      return rowsParsed.get();
+   }
+
+   public long getCreated() {
+      return created.get();
+   }
+
+   public long getUpdated() {
+      return updated.get();
+   }
+
+   public long getFailed() {
+      return failed.get();
+   }
+
+   @Override
+   public void rowParsed() {
+      rowsParsed.incrementAndGet();
+   }
+
+   @Override
+   public void rowsWritten(int createdRows, int updatedRows, int failedRows) {
+      created.addAndGet(createdRows);
+      updated.addAndGet(updatedRows);
+      failed.addAndGet(failedRows);
+   }
+
+   @Override
+   public boolean isCancelled() {
+      return cancelRequested;
+   }
+
+   /**
+    * Move a queued job to RUNNING; false if it was cancelled while waiting
+    */
+   public synchronized boolean start() {
+      if (state != State.QUEUED) {
+         return false;
+      }
+      state = State.RUNNING;
+      startedAt = LocalDateTime.now();
+      return true;
+   }
+
+   /**
+    * Request cancellation: queued jobs end right away, running jobs stop before their next chunk
+    */
+   public synchronized void cancel() {
+      if (state.isFinished()) {
+         return;
+      }
+      cancelRequested = true;
+      if (state == State.QUEUED) {
+         finish(State.CANCELLED);
+      }
+   }
+
+   public synchronized void complete(ImportResultDTO importResult) {
+      result = importResult;
+      finish(State.COMPLETED);
+   }
+
+   public synchronized void fail(State finalState, String message) {
+      error = message;
+      finish(finalState);
+   }
+
+   private void finish(State finalState) {
+      state = finalState;
+      finishedAt = LocalDateTime.now();
+   }
+}
@@ -0,0 +1,19 @@
+/* (c) 2026 Alejandro Lopez Monzon <alejandro@kreaker.dev> for Kreaker Developments */
+package dev.kreaker.cnc.service.importer;
+
+/**
+ * Receives progress from {@link BulkImportEngine} and lets the caller stop an import between
+ * chunks. Rows of chunks that were already committed are kept.
+ */
+public interface ImportProgress {
+
+   ImportProgress NONE = new ImportProgress() {};
+
+   default void rowParsed() {}
+
+   default void rowsWritten(int created, int updated, int failed) {}
+
+   default boolean isCancelled() {
+      return false;
+   }
+}
@@ -0,0 +1,35 @@
+/* (c) 2026 Alejandro Lopez Monzon <alejandro@kreaker.dev> for Kreaker Developments */
+package dev.kreaker.cnc.service.importer;
+
+import java.util.function.Function;
+
+/**
+ * One row of an import file: either the parsed value or the parse/validation error
+ *
+ * @param rowNumber 1-based row number as shown to the user (header included)
+ */
+public record ParsedRow<T>(int rowNumber, T value, String error) {
+
+   public static <T> ParsedRow<T> of(int rowNumber, T value) {
+      return new ParsedRow<>(rowNumber, value, null);
+   }
+
+   public static <T> ParsedRow<T> failed(int rowNumber, String error) {
+      return new ParsedRow<>(rowNumber, null, error);
+   }
+
+   /**
+    * Apply a row parser, turning its validation errors into a failed row
+    */
+   public static <R, T> ParsedRow<T> parse(int rowNumber, R raw, Function<R, T> parser) {
+      try {
+         return of(rowNumber, parser.apply(raw));
+      } catch (RuntimeException e) {
+         return failed(rowNumber, e.getMessage());
+      }
+   }
+
+   public boolean isFailed() {
+      return error != null;
+   }
+}
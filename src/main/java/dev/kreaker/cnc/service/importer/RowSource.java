@@ -0,0 +1,18 @@
+/* (c) 2026 Alejandro Lopez Monzon <alejandro@kreaker.dev> for Kreaker Developments */
+package dev.kreaker.cnc.service.importer;
+
+import java.io.IOException;
+import java.util.function.Consumer;
+
+/**
+ * Source of parsed import rows, read by the parser stage of {@link BulkImportEngine}. Push-based
+ * so event-driven readers (SAX) can emit rows as they are found.
+ */
+@FunctionalInterface
+public interface RowSource<T> {
+
+   /**
+    * Read the whole input, handing every row to the sink in file order
+    */
+   void read(Consumer<ParsedRow<T>> sink) throws IOException;
+}
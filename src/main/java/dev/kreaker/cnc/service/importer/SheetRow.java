@@ -0,0 +1,40 @@
+/* (c) 2026 Alejandro Lopez Monzon <alejandro@kreaker.dev> for Kreaker Developments */
+package dev.kreaker.cnc.service.importer;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.Row;
+
+/**
+ * Cell values of one spreadsheet row, independent of the POI model it was read with. Values are
+ * String, Double or Boolean; blank and missing cells are null.
+ */
+public record SheetRow(Object[] cells) {
+
+   public Object getCell(int column) {
+      return column < cells.length ? cells[column] : null;
+   }
+
+   /**
+    * Copy the values of a POI DOM row
+    */
+   public static SheetRow of(Row row) {
+      Object[] cells = new Object[Math.max(row.getLastCellNum(), 0)];
+      for (Cell cell : row) {
+         cells[cell.getColumnIndex()] = valueOf(cell);
+      }
+      return new SheetRow(cells);
+   }
+
+   private static Object valueOf(Cell cell) {
+      CellType type = cell.getCellType() == CellType.FORMULA ? cell.getCachedFormulaResultType()
+               : cell.getCellType();
+      return switch (type) {
+         case STRING -> cell.getStringCellValue();
+         case NUMERIC -> cell.getNumericCellValue();
+         case BOOLEAN -> cell.getBooleanCellValue();
+         case BLANK -> null;
+         default -> cell.toString();
+      };
+   }
+}
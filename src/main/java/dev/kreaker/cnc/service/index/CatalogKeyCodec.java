@@ -0,0 +1,98 @@
+/* (c) 2026 Alejandro Lopez Monzon <alejandro@kreaker.dev> for Kreaker Developments */
+package dev.kreaker.cnc.service.index;
+
+import dev.kreaker.cnc.domain.entity.AlCatalogTwostepId;
+
+/**
+ * Packs (modulo, campo, valor, cadena) keys into a single {@code long} for {@link LongHashMap}.
+ *
+ * <p>
+ * Each string column is dictionary-encoded to an int, the (modulo, campo) and (pair, valor)
+ * combinations get their own dense ids, and the resulting triple id is packed with cadena:
+ * {@code tripleId << 33 | cadena}, bit 32 marking a null cadena. No key packs to 0, which is
+ * returned as {@link #ABSENT} for combinations that were never encoded. Lookups only read
+ * dictionaries and never allocate; {@link #encode} must be called by a single writer at a time.
+ */
+public final class CatalogKeyCodec {
+
+   public static final long ABSENT = 0L;
+
+   private static final long NULL_CADENA = 1L << 32;
+
+   private final StringDictionary modulos = new StringDictionary();
+   private final StringDictionary campos = new StringDictionary();
+   private final StringDictionary valores = new StringDictionary();
+   private final LongHashMap<Integer> pairIds = new LongHashMap<>();
+   private final LongHashMap<Integer> tripleIds;
+   private int nextPairId = 1;
+   private int nextTripleId = 1;
+
+   public CatalogKeyCodec() {
+      this(0);
+   }
+
+   public CatalogKeyCodec(int expectedKeys) {
+      tripleIds = new LongHashMap<>(expectedKeys);
+   }
+
+   public long encode(AlCatalogTwostepId key) {
+      return encode(key.getModulo(), key.getCampo(), key.getValor(), key.getCadena());
+   }
+
+   /**
+    * Packed key, assigning ids to values and combinations not seen before
+    */
+   public long encode(String modulo, String campo, String valor, Integer cadena) {
+      long pair = combine(modulos.add(modulo), campos.add(campo));
+      Integer pairId = pairIds.get(pair);
+      if (pairId == null) {
+         pairId = nextPairId++;
+         pairIds.put(pair, pairId);
+      }
+      long triple = combine(pairId, valores.add(valor));
+      Integer tripleId = tripleIds.get(triple);
+      if (tripleId == null) {
+         tripleId = nextTripleId++;
+         tripleIds.put(triple, tripleId);
+      }
+      return pack(tripleId, cadena);
+   }
+
+   public long find(AlCatalogTwostepId key) {
+      return find(key.getModulo(), key.getCampo(), key.getValor(), key.getCadena());
+   }
+
+   /**
+    * Packed key of an already encoded combination, or {@link #ABSENT}
+    */
+   public long find(String modulo, String campo, String valor, Integer cadena) {
+      int moduloId = modulos.find(modulo);
+      int campoId = campos.find(campo);
+      int valorId = valores.find(valor);
+      if (moduloId == StringDictionary.ABSENT || campoId == StringDictionary.ABSENT
+               || valorId == StringDictionary.ABSENT) {
+         return ABSENT;
+      }
+      Integer pairId = pairIds.get(combine(moduloId, campoId));
+      if (pairId == null) {
+         return ABSENT;
+      }
+      Integer tripleId = tripleIds.get(combine(pairId, valorId));
+      return tripleId != null ? pack(tripleId, cadena) : ABSENT;
+   }
+
+   public int size() {
+      return tripleIds.size();
+   }
+
+   /**
+    * Two non-zero ints as one non-zero long key
+    */
+   private static long combine(int high, int low) {
+      return ((long) high << 32) | (low & 0xFFFFFFFFL);
+   }
+
+   private static long pack(int tripleId, Integer cadena) {
+      return ((long) tripleId << 33) | (cadena == null ? NULL_CADENA : cadena & 0xFFFFFFFFL);
+   }
+}
@@ -0,0 +1,88 @@
+/* (c) 2026 Alejandro Lopez Monzon <alejandro@kreaker.dev> for Kreaker Developments */
+package dev.kreaker.cnc.service.index;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Merges lists that are each already sorted by the same order, in O(n log k) instead of
+ * re-sorting the concatenation. Ties keep the order of the input lists, so the merge is stable.
+ */
+public final class KWayMerge {
+
+   private KWayMerge() {}
+
+   public static <T> List<T> merge(List<? extends List<? extends T>> sorted,
+            Comparator<? super T> order) {
+      int total = 0;
+      List<? extends T> single = null;
+      int nonEmpty = 0;
+      for (List<? extends T> list : sorted) {
+         if (!list.isEmpty()) {
+            total += list.size();
+            single = list;
+            nonEmpty++;
+         }
+      }
+      if (nonEmpty <= 1) {
+         return single == null ? new ArrayList<>() : new ArrayList<>(single);
+      }
+
+      PriorityQueue<Cursor<T>> heads = new PriorityQueue<>(nonEmpty,
+               Comparator.<Cursor<T>, T>comparing(Cursor::head, order)
+                        .thenComparingInt(Cursor::list));
+      for (int i = 0; i < sorted.size(); i++) {
+         if (!sorted.get(i).isEmpty()) {
+            heads.add(new Cursor<>(sorted.get(i), i));
+         }
+      }
+
+      List<T> merged = new ArrayList<>(total);
+      while (!heads.isEmpty()) {
+         Cursor<T> cursor = heads.poll();
+         merged.add(cursor.head());
+         if (cursor.advance()) {
+            heads.add(cursor);
+         }
+      }
+      return merged;
+   }
+
+   /**
+    * Whether the list is in the given order, to check inputs sorted elsewhere
+    */
+   public static <T> boolean isSorted(List<? extends T> list, Comparator<? super T> order) {
+      for (int i = 1; i < list.size(); i++) {
+         if (order.compare(list.get(i - 1), list.get(i)) > 0) {
+            return false;
+         }
+      }
+      return true;
+   }
+
+   private static final class Cursor<T> {
+
+      private final List<? extends T> rows;
+      private final int list;
+      private int position;
+
+      Cursor(List<? extends T> rows, int list) {
+         this.rows = rows;
+         this.list = list;
+      }
+
+      T head() {
+         return rows.get(position);
+      }
+
+      int list() {
+         return list;
+      }
+
+      boolean advance() {
+         return ++position < rows.size();
+      }
+   }
+}
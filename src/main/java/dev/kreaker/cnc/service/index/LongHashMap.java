@@ -0,0 +1,186 @@
+/* (c) 2026 Alejandro Lopez Monzon <alejandro@kreaker.dev> for Kreaker Developments */
+package dev.kreaker.cnc.service.index;
+
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Open-addressing hash map keyed by a primitive {@code long} (linear probing, backward-shift
+ * deletion, no tombstones). Keys live in a flat {@code long[]}, so lookups neither box nor
+ * allocate.
+ *
+ * <p>
+ * Reads are lock-free optimistic reads that retry under the read lock only if a write overlapped
+ * them; writes take the write lock. Key {@code 0} is reserved for empty slots.
+ */
+public final class LongHashMap<V> {
+
+   private static final long EMPTY = 0L;
+   private static final int MIN_CAPACITY = 16;
+
+   private final StampedLock lock = new StampedLock();
+   private long[] keys;
+   private Object[] values;
+   private int size;
+
+   public LongHashMap() {
+      this(MIN_CAPACITY / 2);
+   }
+
+   public LongHashMap(int expectedSize) {
+      int capacity = Integer.highestOneBit(Math.max(MIN_CAPACITY, expectedSize * 2 - 1)) << 1;
+      keys = new long[capacity];
+      values = new Object[capacity];
+   }
+
+   public V get(long key) {
+      long stamp = lock.tryOptimisticRead();
+      V value = find(key);
+      if (!lock.validate(stamp)) {
+         stamp = lock.readLock();
+         try {
+            value = find(key);
+         } finally {
+            lock.unlockRead(stamp);
+         }
+      }
+      return value;
+   }
+
+   public boolean containsKey(long key) {
+      return get(key) != null;
+   }
+
+   /**
+    * Associate a non-null value with the key, returning the previous value
+    */
+   public V put(long key, V value) {
+      if (key == EMPTY || value == null) {
+         throw new IllegalArgumentException("Key 0 and null values are not supported");
+      }
+      long stamp = lock.writeLock();
+      try {
+         int mask = keys.length - 1;
+         int i = slot(key, mask);
+         while (keys[i] != EMPTY) {
+            if (keys[i] == key) {
+               @SuppressWarnings("unchecked")
+               V previous = (V) values[i];
+               values[i] = value;
+               return previous;
+            }
+            i = (i + 1) & mask;
+         }
+         keys[i] = key;
+         values[i] = value;
+         if (++size * 2 > keys.length) {
+            resize(keys.length << 1);
+         }
+         return null;
+      } finally {
+         lock.unlockWrite(stamp);
+      }
+   }
+
+   public V remove(long key) {
+      if (key == EMPTY) {
+         return null;
+      }
+      long stamp = lock.writeLock();
+      try {
+         int mask = keys.length - 1;
+         int i = slot(key, mask);
+         while (keys[i] != key) {
+            if (keys[i] == EMPTY) {
+               return null;
+            }
+            i = (i + 1) & mask;
+         }
+         @SuppressWarnings("unchecked")
+         V previous = (V) values[i];
+         shiftBack(i, mask);
+         size--;
+         return previous;
+      } finally {
+         lock.unlockWrite(stamp);
+      }
+   }
+
+   public int size() {
+      return size;
+   }
+
+   /**
+    * Probe without locking. Under a racing write it may return a stale value, but it never throws
+    * or loops forever; {@link #get} validates the result.
+    */
+   @SuppressWarnings("unchecked")
+   private V find(long key) {
+      long[] k = keys;
+      Object[] v = values;
+      if (k.length != v.length) {
+         return null;
+      }
+      int mask = k.length - 1;
+      int i = slot(key, mask);
+      for (int probes = 0; probes < k.length; probes++) {
+         long current = k[i];
+         if (current == key) {
+            return (V) v[i];
+         }
+         if (current == EMPTY) {
+            return null;
+         }
+         i = (i + 1) & mask;
+      }
+      return null;
+   }
+
+   /**
+    * Close the gap left at {@code i} by moving back later entries of the same probe run
+    */
+   private void shiftBack(int i, int mask) {
+      int gap = i;
+      int j = i;
+      while (true) {
+         j = (j + 1) & mask;
+         long current = keys[j];
+         if (current == EMPTY) {
+            break;
+         }
+         int home = slot(current, mask);
+         boolean reachable = gap <= j ? gap < home && home <= j : gap < home || home <= j;
+         if (!reachable) {
+            keys[gap] = current;
+            values[gap] = values[j];
+            gap = j;
+         }
+      }
+      keys[gap] = EMPTY;
+      values[gap] = null;
+   }
+
+   private void resize(int capacity) {
+      long[] oldKeys = keys;
+      Object[] oldValues = values;
+      long[] newKeys = new long[capacity];
+      Object[] newValues = new Object[capacity];
+      int mask = capacity - 1;
+      for (int i = 0; i < oldKeys.length; i++) {
+         if (oldKeys[i] != EMPTY) {
+            int j = slot(oldKeys[i], mask);
+            while (newKeys[j] != EMPTY) {
+               j = (j + 1) & mask;
+            }
+            newKeys[j] = oldKeys[i];
+            newValues[j] = oldValues[i];
+         }
+      }
+      keys = newKeys;
+      values = newValues;
+   }
+
+   private static int slot(long key, int mask) {
+      long h = key * 0x9E3779B97F4A7C15L;
+      return (int) (h ^ (h >>> 32)) & mask;
+   }
+}
@@ -0,0 +1,49 @@
+/* (c) 2026 Alejandro Lopez Monzon <alejandro@kreaker.dev> for Kreaker Developments */
+package dev.kreaker.cnc.service.index;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Dense int ids for the distinct values of one key column. Ids start at 1; {@link #ABSENT} means
+ * the value was never added and {@link #NULL_ID} stands for {@code null}. Ids are never reused, so
+ * the dictionary only grows until its owner is rebuilt.
+ */
+public final class StringDictionary {
+
+   public static final int ABSENT = 0;
+   public static final int NULL_ID = -1;
+
+   private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+   private int nextId = 1;
+
+   /**
+    * Id of the value, assigning the next one if unseen. Callers serialize writes.
+    */
+   public int add(String value) {
+      if (value == null) {
+         return NULL_ID;
+      }
+      Integer id = ids.get(value);
+      if (id == null) {
+         id = nextId++;
+         ids.put(value, id);
+      }
+      return id;
+   }
+
+   /**
+    * Id of the value or {@link #ABSENT}; safe to call concurrently with {@link #add}
+    */
+   public int find(String value) {
+      if (value == null) {
+         return NULL_ID;
+      }
+      Integer id = ids.get(value);
+      return id != null ? id : ABSENT;
+   }
+
+   public int size() {
+      return ids.size();
+   }
+}
@@ -0,0 +1,160 @@
+/* (c) 2026 Alejandro Lopez Monzon <alejandro@kreaker.dev> for Kreaker Developments */
+package dev.kreaker.cnc.service.index;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Inverted index from character trigrams to the ids of the documents containing them. A substring
+ * query of three or more characters is answered by intersecting the posting lists of its
+ * trigrams; the result is a candidate set the caller still verifies with {@code contains}.
+ *
+ * <p>
+ * Document ids must be added in increasing order, which keeps every posting list sorted with plain
+ * appends. Texts are expected lower-cased; a NUL character separates fields and never forms part
+ * of a trigram. Writes must be serialized; reads may run concurrently with them.
+ */
+public final class TrigramIndex {
+
+   private static final int GRAM = 3;
+
+   private final LongHashMap<Posting> postings;
+
+   public TrigramIndex(int expectedGrams) {
+      postings = new LongHashMap<>(expectedGrams);
+   }
+
+   public void add(int doc, String text) {
+      for (int i = 0; i + GRAM <= text.length(); i++) {
+         long gram = gram(text, i);
+         if (gram != 0L) {
+            Posting posting = postings.get(gram);
+            if (posting == null) {
+               postings.put(gram, Posting.of(doc));
+            } else if (posting.last() != doc) {
+               postings.put(gram, posting.append(doc));
+            }
+         }
+      }
+   }
+
+   /**
+    * Remove a document; {@code text} must be the text it was added with
+    */
+   public void remove(int doc, String text) {
+      for (int i = 0; i + GRAM <= text.length(); i++) {
+         long gram = gram(text, i);
+         Posting posting = gram != 0L ? postings.get(gram) : null;
+         if (posting != null) {
+            Posting remaining = posting.without(doc);
+            if (remaining == null) {
+               postings.remove(gram);
+            } else if (remaining != posting) {
+               postings.put(gram, remaining);
+            }
+         }
+      }
+   }
+
+   /**
+    * Sorted ids of the documents containing every trigram of the term, or {@code null} when the
+    * term is too short to be answered from the index
+    */
+   public int[] candidates(String term) {
+      int count = term.length() - GRAM + 1;
+      if (count <= 0) {
+         return null;
+      }
+      Posting[] lists = new Posting[count];
+      for (int i = 0; i < count; i++) {
+         long gram = gram(term, i);
+         if (gram == 0L) {
+            return null;
+         }
+         Posting posting = postings.get(gram);
+         if (posting == null) {
+            return new int[0];
+         }
+         lists[i] = posting;
+      }
+      // Smallest list first: the running result only shrinks
+      Arrays.sort(lists, Comparator.comparingInt(Posting::size));
+      int[] result = Arrays.copyOf(lists[0].ids(), lists[0].size());
+      int size = result.length;
+      for (int i = 1; i < count && size > 0; i++) {
+         if (lists[i] != lists[i - 1]) {
+            size = retain(result, size, lists[i]);
+         }
+      }
+      return Arrays.copyOf(result, size);
+   }
+
+   public int size() {
+      return postings.size();
+   }
+
+   /**
+    * Keep the first {@code size} ids of {@code result} that also appear in the posting
+    */
+   private static int retain(int[] result, int size, Posting posting) {
+      int[] other = posting.ids();
+      int otherSize = posting.size();
+      int kept = 0;
+      int from = 0;
+      for (int i = 0; i < size && from < otherSize; i++) {
+         int found = Arrays.binarySearch(other, from, otherSize, result[i]);
+         if (found >= 0) {
+            result[kept++] = result[i];
+            from = found + 1;
+         } else {
+            from = -found - 1;
+         }
+      }
+      return kept;
+   }
+
+   private static long gram(String text, int start) {
+      char a = text.charAt(start);
+      char b = text.charAt(start + 1);
+      char c = text.charAt(start + 2);
+      if (a == 0 || b == 0 || c == 0) {
+         return 0L;
+      }
+      return ((long) a << 32) | ((long) b << 16) | c;
+   }
+
+   /**
+    * Immutable view of a sorted id list. Appending writes past the end of the shared array and
+    * returns a longer view, so readers holding an older view are unaffected; removal copies.
+    */
+   private record Posting(int[] ids, int size) {
+
+      static Posting of(int doc) {
+         return new Posting(new int[] {doc, 0}, 1);
+      }
+
+      int last() {
+         return ids[size - 1];
+      }
+
+      Posting append(int doc) {
+         int[] target = size < ids.length ? ids : Arrays.copyOf(ids, size + (size >> 1) + 1);
+         target[size] = doc;
+         return new Posting(target, size + 1);
+      }
+
+      Posting without(int doc) {
+         int index = Arrays.binarySearch(ids, 0, size, doc);
+         if (index < 0) {
+            return this;
+         }
+         if (size == 1) {
+            return null;
+         }
+         int[] copy = new int[size - 1];
+         System.arraycopy(ids, 0, copy, 0, index);
+         System.arraycopy(ids, index + 1, copy, index, size - index - 1);
+         return new Posting(copy, size - 1);
+      }
+   }
+}
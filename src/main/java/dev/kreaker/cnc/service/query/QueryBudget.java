@@ -0,0 +1,10 @@
+/* (c) 2026 Alejandro Lopez Monzon <alejandro@kreaker.dev> for Kreaker Developments */
+package dev.kreaker.cnc.service.query;
+
+import java.time.Duration;
+
+/**
+ * Upper bounds for the SQL work of one HTTP request or import job
+ */
+public record QueryBudget(int maxStatements, long maxRows, Duration maxSqlTime) {
+}
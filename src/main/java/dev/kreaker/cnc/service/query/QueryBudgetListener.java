@@ -0,0 +1,45 @@
+/* (c) 2026 Alejandro Lopez Monzon <alejandro@kreaker.dev> for Kreaker Developments */
+package dev.kreaker.cnc.service.query;
+
+import java.sql.ResultSet;
+import java.util.List;
+
+import lombok.RequiredArgsConstructor;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+/**
+ * datasource-proxy listener feeding executed statements and fetched rows to the
+ * {@link QueryBudgetMonitor}
+ */
+@RequiredArgsConstructor
+public class QueryBudgetListener implements QueryExecutionListener, MethodExecutionListener {
+
+   private final QueryBudgetMonitor monitor;
+
+   @Override
+   public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+   }
+
+   @Override
+   public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+      monitor.recordExecution(queryInfoList.stream().map(QueryInfo::getQuery).toList(),
+               execInfo.getElapsedTime(), execInfo.isBatch());
+   }
+
+   @Override
+   public void beforeMethod(MethodExecutionContext executionContext) {
+   }
+
+   @Override
+   public void afterMethod(MethodExecutionContext executionContext) {
+      if (executionContext.getTarget() instanceof ResultSet
+               && "next".equals(executionContext.getMethod().getName())
+               && Boolean.TRUE.equals(executionContext.getResult())) {
+         monitor.recordRow();
+      }
+   }
+}
@@ -0,0 +1,279 @@
+/* (c) 2026 Alejandro Lopez Monzon <alejandro@kreaker.dev> for Kreaker Developments */
+package dev.kreaker.cnc.service.query;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import dev.kreaker.cnc.service.query.QueryBudgetReport.RepeatedStatement;
+
+import jakarta.annotation.PostConstruct;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Counts statements, fetched rows and SQL time per scope (an HTTP request, a streamed export or an
+ * import job) on
+ * the thread running it and on the threads it hands queries to. Scopes over their budget, or
+ * repeating the same SELECT shape, are logged and kept for /admin/query-budget.
+ */
+@Component
+@Slf4j
+public class QueryBudgetMonitor {
+
+   /**
+    * An open scope; closing it evaluates the budget
+    */
+   @FunctionalInterface
+   public interface Scope extends AutoCloseable {
+      @Override
+      void close();
+   }
+
+   private static final int MAX_REPORTS = 50;
+   private static final String SERVICE_PACKAGE = "dev.kreaker.cnc.service.";
+   private static final String WEB_PACKAGE = "dev.kreaker.cnc.web.";
+   private static final String OWN_PACKAGE = QueryBudgetMonitor.class.getPackageName() + ".";
+
+   private static final Pattern LITERALS = Pattern.compile("'(?:[^']|'')*'|\\b\\d+\\b");
+   private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+   private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+   private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+
+   private final ThreadLocal<Stats> current = new ThreadLocal<>();
+   private final Deque<QueryBudgetReport> reports = new ConcurrentLinkedDeque<>();
+
+   @Value("${cnc.query-budget.enabled:true}")
+   private boolean enabled;
+
+   // Executions of one SELECT shape within a scope before it is flagged as N+1
+   @Value("${cnc.query-budget.repeat-threshold:5}")
+   private int repeatThreshold;
+
+   @Value("${cnc.query-budget.request.max-statements:20}")
+   private int requestMaxStatements;
+
+   @Value("${cnc.query-budget.request.max-rows:10000}")
+   private long requestMaxRows;
+
+   @Value("${cnc.query-budget.request.max-sql-time:PT1S}")
+   private Duration requestMaxSqlTime;
+
+   @Value("${cnc.query-budget.export.max-statements:100}")
+   private int exportMaxStatements;
+
+   @Value("${cnc.query-budget.export.max-rows:2000000}")
+   private long exportMaxRows;
+
+   @Value("${cnc.query-budget.export.max-sql-time:PT5M}")
+   private Duration exportMaxSqlTime;
+
+   @Value("${cnc.query-budget.import.max-statements:10000}")
+   private int importMaxStatements;
+
+   @Value("${cnc.query-budget.import.max-rows:1000000}")
+   private long importMaxRows;
+
+   @Value("${cnc.query-budget.import.max-sql-time:PT5M}")
+   private Duration importMaxSqlTime;
+
+   @Getter
+   private QueryBudget requestBudget;
+
+   @Getter
+   private QueryBudget exportBudget;
+
+   @Getter
+   private QueryBudget importBudget;
+
+   @PostConstruct
+   void init() {
+      requestBudget = new QueryBudget(requestMaxStatements, requestMaxRows, requestMaxSqlTime);
+      exportBudget = new QueryBudget(exportMaxStatements, exportMaxRows, exportMaxSqlTime);
+      importBudget = new QueryBudget(importMaxStatements, importMaxRows, importMaxSqlTime);
+   }
+
+   /**
+    * Start measuring the current thread. A scope opened inside another one is a no-op, the outer
+    * scope keeps counting.
+    */
+   public Scope open(String name, QueryBudget budget) {
+      if (!enabled || current.get() != null) {
+         return () -> {
+         };
+      }
+      Stats stats = new Stats(name, budget);
+      current.set(stats);
+      return () -> finish(stats);
+   }
+
+   /**
+    * Wrap a query so it counts against the scope open on the calling thread, whichever thread
+    * ends up running it
+    */
+   public <T> Supplier<T> propagate(Supplier<T> query) {
+      Stats stats = current.get();
+      if (stats == null) {
+         return query;
+      }
+      return () -> {
+         Stats previous = current.get();
+         current.set(stats);
+         try {
+            return query.get();
+         } finally {
+            if (previous == null) {
+               current.remove();
+            } else {
+               current.set(previous);
+            }
+         }
+      };
+   }
+
+   /**
+    * Record one execution (a single statement or a whole JDBC batch) on the current thread
+    */
+   public void recordExecution(List<String> queries, long elapsedMillis, boolean batch) {
+      Stats stats = current.get();
+      if (stats == null) {
+         return;
+      }
+      synchronized (stats) {
+         stats.statements++;
+         stats.sqlMillis += elapsedMillis;
+         if (batch) {
+            return;
+         }
+         for (String sql : queries) {
+            if (!sql.stripLeading().regionMatches(true, 0, "select", 0, 6)) {
+               continue;
+            }
+            Repeat repeat = stats.shapes.computeIfAbsent(shapeOf(sql), _ -> new Repeat());
+            if (++repeat.count == repeatThreshold) {
+               repeat.caller = caller();
+            }
+         }
+      }
+   }
+
+   /**
+    * Record one row read from a result set on the current thread. Only called with
+    * {@code cnc.query-budget.count-rows} on; otherwise rows stay at 0 and max-rows never trips.
+    */
+   public void recordRow() {
+      Stats stats = current.get();
+      if (stats != null) {
+         synchronized (stats) {
+            stats.rows++;
+         }
+      }
+   }
+
+   /**
+    * Latest over-budget scopes, newest first
+    */
+   public List<QueryBudgetReport> recentReports() {
+      return List.copyOf(reports);
+   }
+
+   private void finish(Stats stats) {
+      current.remove();
+      synchronized (stats) {
+         evaluate(stats);
+      }
+   }
+
+   private void evaluate(Stats stats) {
+      long elapsedMillis = (System.nanoTime() - stats.startNanos) / 1_000_000;
+      QueryBudget budget = stats.budget;
+
+      List<String> exceeded = new ArrayList<>();
+      if (stats.statements > budget.maxStatements()) {
+         exceeded.add("statements " + stats.statements + " > " + budget.maxStatements());
+      }
+      if (stats.rows > budget.maxRows()) {
+         exceeded.add("rows " + stats.rows + " > " + budget.maxRows());
+      }
+      if (stats.sqlMillis > budget.maxSqlTime().toMillis()) {
+         exceeded.add("SQL time " + stats.sqlMillis + " ms > " + budget.maxSqlTime().toMillis()
+                  + " ms");
+      }
+      List<RepeatedStatement> repeated = stats.shapes.entrySet().stream()
+               .filter(entry -> entry.getValue().count >= repeatThreshold)
+               .map(entry -> new RepeatedStatement(entry.getKey(), entry.getValue().count,
+                        entry.getValue().caller))
+               .sorted(Comparator.comparingInt(RepeatedStatement::count).reversed()).toList();
+
+      if (exceeded.isEmpty() && repeated.isEmpty()) {
+         log.debug("{}: {} statements, {} rows, {} ms SQL", stats.name, stats.statements,
+                  stats.rows, stats.sqlMillis);
+         return;
+      }
+
+      reports.addFirst(new QueryBudgetReport(stats.name, LocalDateTime.now(), stats.statements,
+               stats.rows, stats.sqlMillis, elapsedMillis, exceeded, repeated));
+      while (reports.size() > MAX_REPORTS) {
+         reports.pollLast();
+      }
+
+      if (!exceeded.isEmpty()) {
+         log.warn("{} exceeded its query budget ({}): {} statements, {} rows, {} ms SQL in {} ms",
+                  stats.name, String.join(", ", exceeded), stats.statements, stats.rows,
+                  stats.sqlMillis, elapsedMillis);
+      }
+      for (RepeatedStatement statement : repeated) {
+         log.warn("{}: possible N+1 in {}, {} executions of: {}", stats.name, statement.caller(),
+                  statement.count(), statement.shape());
+      }
+   }
+
+   /**
+    * SQL with literals and IN lists collapsed, so executions differing only in values compare
+    * equal
+    */
+   static String shapeOf(String sql) {
+      String shape = LITERALS.matcher(sql).replaceAll("?");
+      shape = IN_LIST.matcher(shape).replaceAll("(?)");
+      return WHITESPACE.matcher(shape).replaceAll(" ").trim();
+   }
+
+   /**
+    * Innermost service or controller frame issuing the statement
+    */
+   private static String caller() {
+      return STACK_WALKER.walk(frames -> frames.filter(frame -> {
+         String className = frame.getClassName();
+         return (className.startsWith(SERVICE_PACKAGE) || className.startsWith(WEB_PACKAGE))
+                  && !className.startsWith(OWN_PACKAGE);
+      }).map(frame -> frame.getClassName().substring(frame.getClassName().lastIndexOf('.') + 1)
+               + "." + frame.getMethodName() + ":" + frame.getLineNumber()).findFirst()
+               .orElse("unknown"));
+   }
+
+   private static final class Stats {
+      private final String name;
+      private final QueryBudget budget;
+      private final long startNanos = System.nanoTime();
+      private final Map<String, Repeat> shapes = new HashMap<>();
+      private int statements;
+      private long rows;
+      private long sqlMillis;
+
+      private Stats(String name, QueryBudget budget) {
+         this.name = name;
+         this.budget = budget;
+      }
+   }
+
+   private static final class Repeat {
+      private int count;
+      private String caller;
+   }
+}
@@ -0,0 +1,19 @@
+/* (c) 2026 Alejandro Lopez Monzon <alejandro@kreaker.dev> for Kreaker Developments */
+package dev.kreaker.cnc.service.query;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * SQL work of a scope that went over its {@link QueryBudget} or repeated a query shape
+ */
+public record QueryBudgetReport(String scope, LocalDateTime finishedAt, int statements, long rows,
+         long sqlMillis, long elapsedMillis, List<String> exceeded,
+         List<RepeatedStatement> repeated) {
+
+   /**
+    * A SELECT executed count times with only its parameters changing, the usual N+1 signature
+    */
+   public record RepeatedStatement(String shape, int count, String caller) {
+   }
+}
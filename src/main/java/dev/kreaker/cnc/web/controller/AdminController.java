@@ -0,0 +1,49 @@
+/* (c) 2026 Alejandro Lopez Monzon <alejandro@kreaker.dev> for Kreaker Developments */
+package dev.kreaker.cnc.web.controller;
+
+import java.security.Principal;
+import java.util.List;
+
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.servlet.mvc.support.RedirectAttributes;
+
+import dev.kreaker.cnc.service.RproCacheService;
+import dev.kreaker.cnc.service.query.QueryBudgetMonitor;
+import dev.kreaker.cnc.service.query.QueryBudgetReport;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Maintenance actions restricted to ROLE_ADMIN (users listed in cnc.admin.users)
+ */
+@Controller
+@RequestMapping("/admin")
+@Slf4j
+@RequiredArgsConstructor
+public class AdminController {
+
+   private final RproCacheService rproCacheService;
+   private final QueryBudgetMonitor queryBudgetMonitor;
+
+   @PostMapping("/cache/rpro/refresh")
+   public String refreshRproCache(Principal principal, RedirectAttributes redirectAttributes) {
+      log.info("RPRO cache refresh requested by {}", principal.getName());
+      rproCacheService.refresh();
+      redirectAttributes.addFlashAttribute("success", "RPRO catalog cache refreshed");
+      return "redirect:/catalogs";
+   }
+
+   /**
+    * Latest requests and import jobs over their query budget or with repeated SELECTs (N+1)
+    */
+   @GetMapping("/query-budget")
+   @ResponseBody
+   public List<QueryBudgetReport> queryBudgetReports() {
+      return queryBudgetMonitor.recentReports();
+   }
+}
@@ -3,7 +3,6 @@ package dev.kreaker.cnc.web.controller;
 
 import java.util.List;
 import java.util.Objects;
-import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
@@ -18,11 +17,14 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import dev.kreaker.cnc.domain.model.CatalogSource;
+import dev.kreaker.cnc.service.CatalogFacetService;
 import dev.kreaker.cnc.service.CatalogService;
+import dev.kreaker.cnc.service.dto.CatalogFacetsDTO;
 import dev.kreaker.cnc.service.dto.CatalogFilterDTO;
 import dev.kreaker.cnc.service.dto.CatalogItemDTO;
 
@@ -35,7 +37,10 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class CatalogController {
 
+   private static final int MAX_SUGGESTIONS = 50;
+
    private final CatalogService catalogService;
+   private final CatalogFacetService catalogFacetService;
 
    @Value("${cnc.catalog.editing.enabled:true}")
    private boolean catalogEditingEnabled;
@@ -54,19 +59,16 @@ public class CatalogController {
       Pageable pageable = PageRequest.of(page, size);
       Page<CatalogItemDTO> catalogPage = catalogService.getUnifiedCatalogPage(filter, pageable);
 
-      List<String> modulos =
-               catalogService.getDistinctModulos().stream().sorted().collect(Collectors.toList());
-
-      List<String> campos =
-               catalogService.getDistinctCampos().stream().sorted().collect(Collectors.toList());
+      CatalogFacetsDTO facets = catalogFacetService.getFacets();
 
       model.addAttribute("catalogPage", catalogPage);
       model.addAttribute("catalogs", catalogPage.getContent());
       model.addAttribute("filter", filter);
-      model.addAttribute("modulos", modulos);
-      model.addAttribute("campos", campos);
-      model.addAttribute("sbsNos", catalogService.getDistinctSbsNos());
-      model.addAttribute("moduloCamposMap", catalogService.getCamposByModulo());
+      model.addAttribute("facets", facets);
+      model.addAttribute("modulos", facets.getModuloNames());
+      model.addAttribute("campos", facets.getCampoNames());
+      model.addAttribute("sbsNos", facets.getSbsNoValues());
+      model.addAttribute("moduloCamposMap", facets.getCamposByModulo());
       model.addAttribute("currentPage", page);
       model.addAttribute("pageSize", size);
       model.addAttribute("catalogEditingEnabled", catalogEditingEnabled);
@@ -74,6 +76,16 @@ public class CatalogController {
       return "catalog/list";
    }
 
+   /**
+    * Search box suggestions for the filter's searchTerm (polled while typing)
+    */
+   @GetMapping("/suggest")
+   @ResponseBody
+   public List<String> suggest(@ModelAttribute CatalogFilterDTO filter,
+            @RequestParam(value = "limit", defaultValue = "10") int limit) {
+      return catalogService.suggest(filter, Math.clamp(limit, 1, MAX_SUGGESTIONS));
+   }
+
    @GetMapping("/{source}/{id}")
    public String viewCatalogItem(@PathVariable("source") CatalogSource source,
             @PathVariable("id") Long id,
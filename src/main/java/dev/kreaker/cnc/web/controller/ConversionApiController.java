@@ -0,0 +1,43 @@
+/* (c) 2026 Alejandro Lopez Monzon <alejandro@kreaker.dev> for Kreaker Developments */
+package dev.kreaker.cnc.web.controller;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import dev.kreaker.cnc.service.ConversionResolver;
+
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Machine-to-machine conversion lookups. The request body is read and the response written batch
+ * by batch on the request thread, so payloads of any size stream through.
+ */
+@RestController
+@RequestMapping("/api/conversions")
+@RequiredArgsConstructor
+public class ConversionApiController {
+
+   private static final String TEXT_CSV = "text/csv";
+
+   private final ConversionResolver conversionResolver;
+
+   @PostMapping(value = "/resolve", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+   public void resolveNdjson(InputStream body, HttpServletResponse response) throws IOException {
+      response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+      response.setCharacterEncoding("UTF-8");
+      conversionResolver.resolveNdjson(body, response.getOutputStream());
+   }
+
+   @PostMapping(value = "/resolve", consumes = TEXT_CSV)
+   public void resolveCsv(InputStream body, HttpServletResponse response) throws IOException {
+      response.setContentType(TEXT_CSV);
+      response.setCharacterEncoding("UTF-8");
+      conversionResolver.resolveCsv(body, response.getOutputStream());
+   }
+}
@@ -2,20 +2,30 @@
 package dev.kreaker.cnc.web.controller;
 
 import java.io.IOException;
+import java.security.Principal;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
+import dev.kreaker.cnc.service.DatabaseAdmission;
 import dev.kreaker.cnc.service.ExportImportService;
+import dev.kreaker.cnc.service.ImportJobService;
 import dev.kreaker.cnc.service.dto.CatalogFilterDTO;
+import dev.kreaker.cnc.service.dto.ImportJobDTO;
 import dev.kreaker.cnc.service.dto.ImportResultDTO;
+import dev.kreaker.cnc.service.importer.ImportJob;
+import dev.kreaker.cnc.service.query.QueryBudgetMonitor;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -27,94 +37,91 @@ import lombok.extern.slf4j.Slf4j;
 public class ExportImportController {
 
    private final ExportImportService exportImportService;
+   private final ImportJobService importJobService;
+   private final DatabaseAdmission databaseAdmission;
+   private final QueryBudgetMonitor queryBudgetMonitor;
 
    private static final DateTimeFormatter FILE_DATE_FORMAT =
             DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss");
 
+   /**
+    * Streamed exports hold a connection for the whole download, so they queue as bulk work. They
+    * run on the async executor after the request's query budget scope has closed, so they get
+    * their own.
+    */
+   private StreamingResponseBody bulk(String name, StreamingResponseBody body) {
+      return out -> {
+         try (var _ = queryBudgetMonitor.open(name, queryBudgetMonitor.getExportBudget());
+                  var _ = databaseAdmission.as(DatabaseAdmission.WorkClass.BULK)) {
+            body.writeTo(out);
+         }
+      };
+   }
+
    /**
     * Export catalog to CSV
     */
    @GetMapping("/export/csv")
-   public ResponseEntity<byte[]> exportToCsv(@ModelAttribute CatalogFilterDTO filter) {
-      try {
-         byte[] data = exportImportService.exportToCsv(filter);
-         String filename = "catalog_" + LocalDateTime.now().format(FILE_DATE_FORMAT) + ".csv";
-
-         return ResponseEntity.ok()
-                  .header(HttpHeaders.CONTENT_DISPOSITION,
-                           "attachment; filename=\"" + filename + "\"")
-                  .contentType(MediaType.parseMediaType("text/csv")).body(data);
-
-      } catch (IOException e) {
-         log.error("Error exporting to CSV", e);
-         return ResponseEntity.internalServerError().build();
-      }
+   public ResponseEntity<StreamingResponseBody> exportToCsv(
+            @ModelAttribute CatalogFilterDTO filter) {
+      String filename = "catalog_" + LocalDateTime.now().format(FILE_DATE_FORMAT) + ".csv";
+      StreamingResponseBody body = bulk("export csv",
+               out -> exportImportService.exportToCsv(filter, out));
+
+      return ResponseEntity.ok()
+               .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+               .contentType(MediaType.parseMediaType("text/csv")).body(body);
    }
 
    /**
     * Export catalog to Excel
     */
    @GetMapping("/export/excel")
-   public ResponseEntity<byte[]> exportToExcel(@ModelAttribute CatalogFilterDTO filter) {
-      try {
-         byte[] data = exportImportService.exportToExcel(filter);
-         String filename = "catalog_" + LocalDateTime.now().format(FILE_DATE_FORMAT) + ".xlsx";
-
-         return ResponseEntity.ok()
-                  .header(HttpHeaders.CONTENT_DISPOSITION,
-                           "attachment; filename=\"" + filename + "\"")
-                  .contentType(MediaType.parseMediaType(
-                           "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"))
-                  .body(data);
-
-      } catch (IOException e) {
-         log.error("Error exporting to Excel", e);
-         return ResponseEntity.internalServerError().build();
-      }
+   public ResponseEntity<StreamingResponseBody> exportToExcel(
+            @ModelAttribute CatalogFilterDTO filter) {
+      String filename = "catalog_" + LocalDateTime.now().format(FILE_DATE_FORMAT) + ".xlsx";
+      StreamingResponseBody body = bulk("export excel",
+               out -> exportImportService.exportToExcel(filter, out));
+
+      return ResponseEntity.ok()
+               .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+               .contentType(MediaType.parseMediaType(
+                        "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"))
+               .body(body);
    }
 
    /**
     * Export conversions template to CSV (for import)
     */
    @GetMapping("/export/conversions/csv")
-   public ResponseEntity<byte[]> exportConversionsToCsv(@ModelAttribute CatalogFilterDTO filter) {
-      try {
-         byte[] data = exportImportService.exportConversionsToCsv(filter);
-         String filename =
-                  "conversions_template_" + LocalDateTime.now().format(FILE_DATE_FORMAT) + ".csv";
-
-         return ResponseEntity.ok()
-                  .header(HttpHeaders.CONTENT_DISPOSITION,
-                           "attachment; filename=\"" + filename + "\"")
-                  .contentType(MediaType.parseMediaType("text/csv")).body(data);
-
-      } catch (IOException e) {
-         log.error("Error exporting conversions to CSV", e);
-         return ResponseEntity.internalServerError().build();
-      }
+   public ResponseEntity<StreamingResponseBody> exportConversionsToCsv(
+            @ModelAttribute CatalogFilterDTO filter) {
+      String filename =
+               "conversions_template_" + LocalDateTime.now().format(FILE_DATE_FORMAT) + ".csv";
+      StreamingResponseBody body = bulk("export conversions csv",
+               out -> exportImportService.exportConversionsToCsv(filter, out));
+
+      return ResponseEntity.ok()
+               .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+               .contentType(MediaType.parseMediaType("text/csv")).body(body);
    }
 
    /**
     * Export conversions template to Excel (for import)
     */
    @GetMapping("/export/conversions/excel")
-   public ResponseEntity<byte[]> exportConversionsToExcel(@ModelAttribute CatalogFilterDTO filter) {
-      try {
-         byte[] data = exportImportService.exportConversionsToExcel(filter);
-         String filename =
-                  "conversions_template_" + LocalDateTime.now().format(FILE_DATE_FORMAT) + ".xlsx";
-
-         return ResponseEntity.ok()
-                  .header(HttpHeaders.CONTENT_DISPOSITION,
-                           "attachment; filename=\"" + filename + "\"")
-                  .contentType(MediaType.parseMediaType(
-                           "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"))
-                  .body(data);
-
-      } catch (IOException e) {
-         log.error("Error exporting conversions to Excel", e);
-         return ResponseEntity.internalServerError().build();
-      }
+   public ResponseEntity<StreamingResponseBody> exportConversionsToExcel(
+            @ModelAttribute CatalogFilterDTO filter) {
+      String filename =
+               "conversions_template_" + LocalDateTime.now().format(FILE_DATE_FORMAT) + ".xlsx";
+      StreamingResponseBody body = bulk("export conversions excel",
+               out -> exportImportService.exportConversionsToExcel(filter, out));
+
+      return ResponseEntity.ok()
+               .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+               .contentType(MediaType.parseMediaType(
+                        "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"))
+               .body(body);
    }
 
    /**
@@ -176,7 +183,7 @@ public class ExportImportController {
             @RequestParam(value = "returnSize", required = false,
                      defaultValue = "10") Integer returnSize,
             @RequestParam(value = "returnSearchTerm", required = false) String returnSearchTerm,
-            RedirectAttributes redirectAttributes) {
+            Principal principal, RedirectAttributes redirectAttributes) {
 
       if (file.isEmpty()) {
          redirectAttributes.addFlashAttribute("error", "Please select a file to import");
@@ -191,31 +198,25 @@ public class ExportImportController {
                   returnPage, returnSize, returnSearchTerm);
       }
 
-      try {
-         ImportResultDTO result;
-
-         if (filename.endsWith(".csv")) {
-            result = exportImportService.importFromCsv(file);
-         } else if (filename.endsWith(".xlsx") || filename.endsWith(".xls")) {
-            result = exportImportService.importFromExcel(file);
-         } else {
-            redirectAttributes.addFlashAttribute("error",
-                     "Unsupported file format. Please use CSV or Excel (.xlsx)");
-            return buildRedirectUrl(returnModulo, returnCampo, returnSbsNo, returnHasConversion,
-                     returnPage, returnSize, returnSearchTerm);
-         }
-
-         if (result.isSuccess()) {
-            redirectAttributes.addFlashAttribute("success", result.getMessage());
-         } else {
-            redirectAttributes.addFlashAttribute("warning", result.getMessage());
-         }
-
-         if (result.hasErrors()) {
-            redirectAttributes.addFlashAttribute("importErrors", result.getErrors());
-         }
+      if (!filename.endsWith(".csv") && !filename.endsWith(".xlsx")
+               && !filename.endsWith(".xls")) {
+         redirectAttributes.addFlashAttribute("error",
+                  "Unsupported file format. Please use CSV or Excel (.xlsx)");
+         return buildRedirectUrl(returnModulo, returnCampo, returnSbsNo, returnHasConversion,
+                  returnPage, returnSize, returnSearchTerm);
+      }
 
-      } catch (Exception e) {
+      try {
+         ImportJob job =
+                  importJobService.submit(ImportJob.Type.CONVERSIONS, file, principal.getName());
+         // The progress page links back to the catalog list with the same filters
+         String returnUrl = buildRedirectUrl(returnModulo, returnCampo, returnSbsNo,
+                  returnHasConversion, returnPage, returnSize, returnSearchTerm)
+                  .substring("redirect:".length());
+         redirectAttributes.addFlashAttribute("returnUrl", returnUrl);
+         return "redirect:/export-import/jobs/" + job.getId();
+
+      } catch (IOException | IllegalStateException e) {
          log.error("Error importing file", e);
          redirectAttributes.addFlashAttribute("error", "Error importing file: " + e.getMessage());
       }
@@ -239,7 +240,7 @@ public class ExportImportController {
             @RequestParam(value = "returnSize", required = false,
                      defaultValue = "10") Integer returnSize,
             @RequestParam(value = "returnSearchTerm", required = false) String returnSearchTerm,
-            RedirectAttributes redirectAttributes) {
+            Principal principal, RedirectAttributes redirectAttributes) {
 
       if (file.isEmpty()) {
          redirectAttributes.addFlashAttribute("error", "Please select a file to import");
@@ -254,31 +255,25 @@ public class ExportImportController {
                   returnPage, returnSize, returnSearchTerm);
       }
 
-      try {
-         ImportResultDTO result;
-
-         if (filename.endsWith(".csv")) {
-            result = exportImportService.importCatalogsFromCsv(file);
-         } else if (filename.endsWith(".xlsx") || filename.endsWith(".xls")) {
-            result = exportImportService.importCatalogsFromExcel(file);
-         } else {
-            redirectAttributes.addFlashAttribute("error",
-                     "Unsupported file format. Please use CSV or Excel (.xlsx)");
-            return buildRedirectUrl(returnModulo, returnCampo, returnSbsNo, returnHasConversion,
-                     returnPage, returnSize, returnSearchTerm);
-         }
-
-         if (result.isSuccess()) {
-            redirectAttributes.addFlashAttribute("success", result.getMessage());
-         } else {
-            redirectAttributes.addFlashAttribute("warning", result.getMessage());
-         }
-
-         if (result.hasErrors()) {
-            redirectAttributes.addFlashAttribute("importErrors", result.getErrors());
-         }
+      if (!filename.endsWith(".csv") && !filename.endsWith(".xlsx")
+               && !filename.endsWith(".xls")) {
+         redirectAttributes.addFlashAttribute("error",
+                  "Unsupported file format. Please use CSV or Excel (.xlsx)");
+         return buildRedirectUrl(returnModulo, returnCampo, returnSbsNo, returnHasConversion,
+                  returnPage, returnSize, returnSearchTerm);
+      }
 
-      } catch (Exception e) {
+      try {
+         ImportJob job =
+                  importJobService.submit(ImportJob.Type.CATALOGS, file, principal.getName());
+         // The progress page links back to the catalog list with the same filters
+         String returnUrl = buildRedirectUrl(returnModulo, returnCampo, returnSbsNo,
+                  returnHasConversion, returnPage, returnSize, returnSearchTerm)
+                  .substring("redirect:".length());
+         redirectAttributes.addFlashAttribute("returnUrl", returnUrl);
+         return "redirect:/export-import/jobs/" + job.getId();
+
+      } catch (IOException | IllegalStateException e) {
          log.error("Error importing catalogs file", e);
          redirectAttributes.addFlashAttribute("error", "Error importing file: " + e.getMessage());
       }
@@ -287,6 +282,60 @@ public class ExportImportController {
                returnPage, returnSize, returnSearchTerm);
    }
 
+   /**
+    * Import job progress page
+    */
+   @GetMapping("/jobs/{id}")
+   public String jobStatusPage(@PathVariable String id, Principal principal, Model model) {
+      ImportJob job = importJobService.findJob(id, principal.getName())
+               .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+      model.addAttribute("job", ImportJobDTO.fromJob(job));
+      if (!model.containsAttribute("returnUrl")) {
+         model.addAttribute("returnUrl", "/catalogs");
+      }
+      return "import/job";
+   }
+
+   /**
+    * Import job status (polled by the progress page)
+    */
+   @GetMapping("/jobs/{id}/status")
+   @ResponseBody
+   public ResponseEntity<ImportJobDTO> jobStatus(@PathVariable String id, Principal principal) {
+      return ResponseEntity.of(
+               importJobService.findJob(id, principal.getName()).map(ImportJobDTO::fromJob));
+   }
+
+   /**
+    * Final result of a finished import job
+    */
+   @GetMapping("/jobs/{id}/result")
+   @ResponseBody
+   public ResponseEntity<ImportResultDTO> jobResult(@PathVariable String id,
+            Principal principal) {
+      ImportJob job = importJobService.findJob(id, principal.getName()).orElse(null);
+      if (job == null) {
+         return ResponseEntity.notFound().build();
+      }
+      if (job.getResult() == null) {
+         return ResponseEntity.status(HttpStatus.CONFLICT).build();
+      }
+      return ResponseEntity.ok(job.getResult());
+   }
+
+   /**
+    * Cancel a queued or running import job
+    */
+   @PostMapping("/jobs/{id}/cancel")
+   public String cancelJob(@PathVariable String id, Principal principal,
+            RedirectAttributes redirectAttributes) {
+      if (importJobService.cancel(id, principal.getName()).isEmpty()) {
+         throw new ResponseStatusException(HttpStatus.NOT_FOUND);
+      }
+      redirectAttributes.addFlashAttribute("warning", "Cancellation requested");
+      return "redirect:/export-import/jobs/" + id;
+   }
+
    /**
     * Build redirect URL preserving filters
     */
@@ -17,4 +17,11 @@ public class GlobalModelAdvice {
       }
       return null;
    }
+
+   @ModelAttribute("isAdmin")
+   public boolean isAdmin() {
+      Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+      return auth != null && auth.getAuthorities().stream()
+               .anyMatch(authority -> "ROLE_ADMIN".equals(authority.getAuthority()));
+   }
 }
@@ -0,0 +1,40 @@
+/* (c) 2026 Alejandro Lopez Monzon <alejandro@kreaker.dev> for Kreaker Developments */
+package dev.kreaker.cnc.web.filter;
+
+import java.io.IOException;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import dev.kreaker.cnc.service.query.QueryBudgetMonitor;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Measures the SQL work of each HTTP request against the request query budget
+ */
+@Component
+@RequiredArgsConstructor
+public class QueryBudgetFilter extends OncePerRequestFilter {
+
+   private final QueryBudgetMonitor queryBudgetMonitor;
+
+   @Override
+   protected boolean shouldNotFilter(HttpServletRequest request) {
+      String path = request.getRequestURI().substring(request.getContextPath().length());
+      return path.startsWith("/css/") || path.startsWith("/js/") || path.equals("/favicon.ico");
+   }
+
+   @Override
+   protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+      try (var _ = queryBudgetMonitor.open(request.getMethod() + " " + request.getRequestURI(),
+               queryBudgetMonitor.getRequestBudget())) {
+         filterChain.doFilter(request, response);
+      }
+   }
+}
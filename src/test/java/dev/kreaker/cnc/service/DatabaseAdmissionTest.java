@@ -0,0 +1,128 @@
+/* (c) 2026 Alejandro Lopez Monzon <alejandro@kreaker.dev> for Kreaker Developments */
+package dev.kreaker.cnc.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class DatabaseAdmissionTest {
+
+   private SimpleMeterRegistry registry;
+   private DatabaseAdmission admission;
+
+   @BeforeEach
+   void setUp() {
+      registry = new SimpleMeterRegistry();
+      admission = new DatabaseAdmission(registry);
+      ReflectionTestUtils.setField(admission, "permitCount", 1);
+      ReflectionTestUtils.setField(admission, "bulkPermitCount", 1);
+      ReflectionTestUtils.setField(admission, "timeout", Duration.ofSeconds(5));
+      admission.init();
+   }
+
+   @AfterEach
+   void tearDown() {
+      registry.close();
+   }
+
+   @Test
+   void interactiveWorkIsAdmittedAndReleased() throws Exception {
+      Runnable release = admission.acquire();
+      assertThat(available()).isZero();
+
+      release.run();
+      release.run();
+
+      assertThat(available()).isEqualTo(1);
+   }
+
+   @Test
+   void nestedAcquiresShareThePermit() throws Exception {
+      Runnable outer = admission.acquire();
+      Runnable inner = admission.acquire();
+      inner.run();
+      assertThat(available()).isZero();
+
+      outer.run();
+
+      assertThat(available()).isEqualTo(1);
+   }
+
+   @Test
+   void interruptedBulkWaitGivesBothPermitsBack() throws Exception {
+      Runnable interactive = admission.acquire();
+      FutureTask<Runnable> bulk = new FutureTask<>(() -> {
+         try (var _ = admission.as(DatabaseAdmission.WorkClass.BULK)) {
+            return admission.acquire();
+         }
+      });
+      Thread waiter = Thread.ofVirtual().start(bulk);
+
+      // Holding the bulk permit and parked on the general one
+      awaitQueuedBulk(waiter);
+      waiter.interrupt();
+
+      assertThatThrownBy(() -> bulk.get(5, TimeUnit.SECONDS))
+               .isInstanceOf(ExecutionException.class)
+               .hasCauseInstanceOf(SQLTransientConnectionException.class);
+      interactive.run();
+      assertThat(available()).isEqualTo(1);
+
+      // A leaked bulk permit would make this wait out the timeout and fail
+      ReflectionTestUtils.setField(admission, "timeout", Duration.ofMillis(200));
+      try (var _ = admission.as(DatabaseAdmission.WorkClass.BULK)) {
+         admission.acquire().run();
+      }
+      assertThat(available()).isEqualTo(1);
+   }
+
+   @Test
+   void timedOutBulkWaitGivesTheBulkPermitBack() throws Exception {
+      ReflectionTestUtils.setField(admission, "timeout", Duration.ofMillis(100));
+      Runnable interactive = admission.acquire();
+      FutureTask<Runnable> bulk = new FutureTask<>(() -> {
+         try (var _ = admission.as(DatabaseAdmission.WorkClass.BULK)) {
+            return admission.acquire();
+         }
+      });
+      Thread.ofVirtual().start(bulk);
+
+      assertThatThrownBy(() -> bulk.get(5, TimeUnit.SECONDS))
+               .hasCauseInstanceOf(SQLTransientConnectionException.class);
+      assertThat(registry.get("cnc.db.admission.rejected").tag("class", "bulk").counter()
+               .count()).isEqualTo(1);
+      interactive.run();
+
+      try (var _ = admission.as(DatabaseAdmission.WorkClass.BULK)) {
+         admission.acquire().run();
+      }
+      assertThat(available()).isEqualTo(1);
+   }
+
+   private double available() {
+      return registry.get("cnc.db.admission.available").gauge().value();
+   }
+
+   private void awaitQueuedBulk(Thread waiter) throws InterruptedException {
+      long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+      while (registry.get("cnc.db.admission.queued").tag("class", "bulk").gauge().value() < 1
+               || waiter.getState() != Thread.State.TIMED_WAITING) {
+         if (System.nanoTime() > deadline) {
+            throw new AssertionError("Bulk caller never queued, state " + waiter.getState());
+         }
+         Thread.sleep(5);
+      }
+   }
+}
@@ -0,0 +1,106 @@
+/* (c) 2026 Alejandro Lopez Monzon <alejandro@kreaker.dev> for Kreaker Developments */
+package dev.kreaker.cnc.service.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import dev.kreaker.cnc.domain.entity.AlCatalogTwostepId;
+
+class CatalogKeyCodecTest {
+
+   @Test
+   void encodedKeysAreFoundAgain() {
+      CatalogKeyCodec codec = new CatalogKeyCodec();
+      long key = codec.encode("VENTAS", "TIPO", "A", 1);
+
+      assertThat(key).isNotEqualTo(CatalogKeyCodec.ABSENT);
+      assertThat(codec.encode("VENTAS", "TIPO", "A", 1)).isEqualTo(key);
+      assertThat(codec.find("VENTAS", "TIPO", "A", 1)).isEqualTo(key);
+      assertThat(codec.size()).isEqualTo(1);
+   }
+
+   @Test
+   void entityIdsEncodeLikeTheirColumns() {
+      CatalogKeyCodec codec = new CatalogKeyCodec();
+      AlCatalogTwostepId id = new AlCatalogTwostepId("VENTAS", "TIPO", "A", 2);
+
+      long key = codec.encode(id);
+
+      assertThat(codec.find("VENTAS", "TIPO", "A", 2)).isEqualTo(key);
+      assertThat(codec.find(id)).isEqualTo(key);
+   }
+
+   @Test
+   void everyColumnTakesPartInTheKey() {
+      CatalogKeyCodec codec = new CatalogKeyCodec();
+      Set<Long> keys = new HashSet<>();
+      keys.add(codec.encode("M1", "C1", "V1", 1));
+      keys.add(codec.encode("M2", "C1", "V1", 1));
+      keys.add(codec.encode("M1", "C2", "V1", 1));
+      keys.add(codec.encode("M1", "C1", "V2", 1));
+      keys.add(codec.encode("M1", "C1", "V1", 2));
+      // Swapped values must not collide with the original combination
+      keys.add(codec.encode("C1", "M1", "V1", 1));
+
+      assertThat(keys).hasSize(6).doesNotContain(CatalogKeyCodec.ABSENT);
+   }
+
+   @Test
+   void nullCadenaDiffersFromEveryCadena() {
+      CatalogKeyCodec codec = new CatalogKeyCodec();
+      long nullCadena = codec.encode("M", "C", "V", null);
+
+      assertThat(nullCadena).isNotEqualTo(CatalogKeyCodec.ABSENT)
+               .isNotEqualTo(codec.encode("M", "C", "V", 0))
+               .isNotEqualTo(codec.encode("M", "C", "V", -1))
+               .isNotEqualTo(codec.encode("M", "C", "V", Integer.MAX_VALUE));
+      assertThat(codec.find("M", "C", "V", null)).isEqualTo(nullCadena);
+   }
+
+   @Test
+   void nullColumnsRoundTrip() {
+      CatalogKeyCodec codec = new CatalogKeyCodec();
+      long key = codec.encode("M", null, "V", 1);
+
+      assertThat(key).isNotEqualTo(CatalogKeyCodec.ABSENT);
+      assertThat(codec.find("M", null, "V", 1)).isEqualTo(key);
+      assertThat(codec.find("M", "", "V", 1)).isEqualTo(CatalogKeyCodec.ABSENT);
+   }
+
+   @Test
+   void unknownCombinationsAreAbsent() {
+      CatalogKeyCodec codec = new CatalogKeyCodec();
+      codec.encode("M1", "C1", "V1", 1);
+      codec.encode("M2", "C2", "V2", 1);
+
+      // Unseen values
+      assertThat(codec.find("M3", "C1", "V1", 1)).isEqualTo(CatalogKeyCodec.ABSENT);
+      assertThat(codec.find("M1", "C1", "V3", 1)).isEqualTo(CatalogKeyCodec.ABSENT);
+      // Known values in combinations never encoded
+      assertThat(codec.find("M1", "C2", "V1", 1)).isEqualTo(CatalogKeyCodec.ABSENT);
+      assertThat(codec.find("M1", "C1", "V2", 1)).isEqualTo(CatalogKeyCodec.ABSENT);
+      // find never assigns ids
+      assertThat(codec.size()).isEqualTo(2);
+   }
+
+   @Test
+   void manyKeysStayDistinct() {
+      CatalogKeyCodec codec = new CatalogKeyCodec(10_000);
+      Set<Long> keys = new HashSet<>();
+      for (int m = 0; m < 10; m++) {
+         for (int c = 0; c < 10; c++) {
+            for (int v = 0; v < 100; v++) {
+               keys.add(codec.encode("M" + m, "C" + c, "V" + v, v % 3));
+            }
+         }
+      }
+
+      assertThat(keys).hasSize(10_000);
+      assertThat(codec.size()).isEqualTo(10_000);
+      assertThat(codec.find("M9", "C9", "V99", 0)).isIn(keys);
+   }
+}
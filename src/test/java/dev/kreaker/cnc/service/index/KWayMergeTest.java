@@ -0,0 +1,103 @@
+/* (c) 2026 Alejandro Lopez Monzon <alejandro@kreaker.dev> for Kreaker Developments */
+package dev.kreaker.cnc.service.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import dev.kreaker.cnc.domain.model.CatalogSource;
+import dev.kreaker.cnc.domain.model.UnifiedCatalogRow;
+import dev.kreaker.cnc.domain.repository.UnifiedCatalogRepository;
+
+class KWayMergeTest {
+
+   private record Item(int key, String label) {}
+
+   private static final Comparator<Item> BY_KEY = Comparator.comparingInt(Item::key);
+
+   @Test
+   void mergesSortedListsInOrder() {
+      List<Item> merged = KWayMerge.merge(
+               List.of(items(1, 4, 7), items(2, 5, 8), items(3, 6, 9)), BY_KEY);
+
+      assertThat(merged).extracting(Item::key).containsExactly(1, 2, 3, 4, 5, 6, 7, 8, 9);
+   }
+
+   @Test
+   void keepsInputListOrderOnTies() {
+      List<Item> first = List.of(new Item(1, "a1"), new Item(2, "a2"), new Item(2, "a3"));
+      List<Item> second = List.of(new Item(1, "b1"), new Item(2, "b2"));
+
+      List<Item> merged = KWayMerge.merge(List.of(first, second), BY_KEY);
+
+      assertThat(merged).extracting(Item::label).containsExactly("a1", "b1", "a2", "a3", "b2");
+   }
+
+   @Test
+   void handlesEmptyAndSingleInputs() {
+      assertThat(KWayMerge.merge(List.<List<Item>>of(), BY_KEY)).isEmpty();
+      assertThat(KWayMerge.merge(List.of(List.<Item>of(), List.<Item>of()), BY_KEY)).isEmpty();
+      assertThat(KWayMerge.merge(List.of(List.of(), items(1, 2)), BY_KEY))
+               .extracting(Item::key).containsExactly(1, 2);
+   }
+
+   @Test
+   void returnsAMutableCopy() {
+      List<Item> source = items(1, 2);
+      List<Item> merged = KWayMerge.merge(List.of(source), BY_KEY);
+
+      merged.add(new Item(3, "3"));
+
+      assertThat(source).hasSize(2);
+   }
+
+   @Test
+   void pageOrderSortsNullsLastAndLegacyBeforeRpro() {
+      UnifiedCatalogRow rproNullOrden = row(CatalogSource.RPRO, 1L, "M", "C", "V", null);
+      UnifiedCatalogRow rproOrden1 = row(CatalogSource.RPRO, 2L, "M", "C", "V", 1);
+      UnifiedCatalogRow legacyNullOrden = row(CatalogSource.LEGACY, 9L, "M", "C", "V", null);
+      UnifiedCatalogRow legacyOtherValor = row(CatalogSource.LEGACY, 3L, "M", "C", "W", 1);
+
+      List<UnifiedCatalogRow> merged = KWayMerge.merge(
+               List.of(List.of(legacyNullOrden, legacyOtherValor),
+                        List.of(rproOrden1, rproNullOrden)),
+               UnifiedCatalogRepository.PAGE_ORDER);
+
+      assertThat(merged).containsExactly(legacyNullOrden, rproOrden1, rproNullOrden,
+               legacyOtherValor);
+   }
+
+   @Test
+   void pageOrderIsBinary() {
+      // Uppercase sorts before lowercase and accented letters after 'z', as with NLS_SORT=BINARY
+      List<UnifiedCatalogRow> rows = new ArrayList<>(List.of(
+               row(CatalogSource.LEGACY, 1L, "M", "C", "\u00e1", 1),
+               row(CatalogSource.LEGACY, 2L, "M", "C", "b", 1),
+               row(CatalogSource.LEGACY, 3L, "M", "C", "Z", 1)));
+
+      rows.sort(UnifiedCatalogRepository.PAGE_ORDER);
+
+      assertThat(rows).extracting(UnifiedCatalogRow::valor).containsExactly("Z", "b", "\u00e1");
+      assertThat(KWayMerge.isSorted(rows, UnifiedCatalogRepository.PAGE_ORDER)).isTrue();
+      assertThat(KWayMerge.isSorted(rows.reversed(), UnifiedCatalogRepository.PAGE_ORDER))
+               .isFalse();
+   }
+
+   private static List<Item> items(int... keys) {
+      List<Item> items = new ArrayList<>();
+      for (int key : keys) {
+         items.add(new Item(key, String.valueOf(key)));
+      }
+      return items;
+   }
+
+   private static UnifiedCatalogRow row(CatalogSource source, Long id, String modulo, String campo,
+            String valor, Integer orden) {
+      return new UnifiedCatalogRow(source, id, 1, modulo, campo, valor, "desc", orden, 1, null,
+               false, null, null, false, null, null);
+   }
+}
@@ -0,0 +1,161 @@
+/* (c) 2026 Alejandro Lopez Monzon <alejandro@kreaker.dev> for Kreaker Developments */
+package dev.kreaker.cnc.service.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+
+class LongHashMapTest {
+
+   @Test
+   void putReturnsThePreviousValue() {
+      LongHashMap<String> map = new LongHashMap<>();
+
+      assertThat(map.put(7L, "a")).isNull();
+      assertThat(map.put(7L, "b")).isEqualTo("a");
+      assertThat(map.get(7L)).isEqualTo("b");
+      assertThat(map.size()).isEqualTo(1);
+   }
+
+   @Test
+   void absentKeysAreNull() {
+      LongHashMap<String> map = new LongHashMap<>();
+      map.put(1L, "one");
+
+      assertThat(map.get(2L)).isNull();
+      assertThat(map.containsKey(2L)).isFalse();
+      assertThat(map.remove(2L)).isNull();
+      assertThat(map.remove(0L)).isNull();
+      assertThat(map.size()).isEqualTo(1);
+   }
+
+   @Test
+   void rejectsTheEmptyKeyAndNullValues() {
+      LongHashMap<String> map = new LongHashMap<>();
+
+      assertThatThrownBy(() -> map.put(0L, "zero")).isInstanceOf(IllegalArgumentException.class);
+      assertThatThrownBy(() -> map.put(1L, null)).isInstanceOf(IllegalArgumentException.class);
+   }
+
+   @Test
+   void keepsEveryKeyAcrossResizes() {
+      LongHashMap<Long> map = new LongHashMap<>();
+      for (long key = 1; key <= 10_000; key++) {
+         map.put(key, -key);
+      }
+      // Keys differing only in high bits, as packed catalog keys do
+      for (long key = 1; key <= 1_000; key++) {
+         map.put(key << 33, key);
+      }
+
+      assertThat(map.size()).isEqualTo(11_000);
+      for (long key = 1; key <= 10_000; key++) {
+         assertThat(map.get(key)).isEqualTo(-key);
+      }
+      for (long key = 1; key <= 1_000; key++) {
+         assertThat(map.get(key << 33)).isEqualTo(key);
+      }
+   }
+
+   @Test
+   void removalKeepsCollidingKeysReachable() {
+      LongHashMap<Long> map = new LongHashMap<>();
+      for (long key = 1; key <= 2_000; key++) {
+         map.put(key, key);
+      }
+      for (long key = 1; key <= 2_000; key += 2) {
+         assertThat(map.remove(key)).isEqualTo(key);
+      }
+
+      assertThat(map.size()).isEqualTo(1_000);
+      for (long key = 1; key <= 2_000; key++) {
+         assertThat(map.get(key)).isEqualTo(key % 2 == 0 ? key : null);
+      }
+   }
+
+   @Test
+   void matchesHashMapUnderRandomPutsAndRemoves() {
+      // A small key space keeps the table dense: long probe runs that wrap around the array
+      SplittableRandom random = new SplittableRandom(7);
+      LongHashMap<Integer> map = new LongHashMap<>();
+      Map<Long, Integer> expected = new HashMap<>();
+
+      for (int op = 0; op < 200_000; op++) {
+         long key = 1 + random.nextInt(48);
+         if (random.nextInt(3) == 0) {
+            assertThat(map.remove(key)).isEqualTo(expected.remove(key));
+         } else {
+            assertThat(map.put(key, op)).isEqualTo(expected.put(key, op));
+         }
+         assertThat(map.size()).isEqualTo(expected.size());
+      }
+      for (long key = 1; key <= 48; key++) {
+         assertThat(map.get(key)).isEqualTo(expected.get(key));
+      }
+   }
+
+   @Test
+   void readersSeeStableKeysWhileAWriterResizes() throws Exception {
+      LongHashMap<Long> map = new LongHashMap<>();
+      for (long key = 1; key <= 1_000; key++) {
+         map.put(key, key * 10);
+      }
+
+      AtomicBoolean writing = new AtomicBoolean(true);
+      CountDownLatch start = new CountDownLatch(1);
+      ExecutorService executor = Executors.newFixedThreadPool(4);
+      try {
+         List<Future<Long>> readers = new ArrayList<>();
+         for (int r = 0; r < 3; r++) {
+            readers.add(executor.submit(() -> {
+               start.await();
+               long reads = 0;
+               do {
+                  for (long key = 1; key <= 1_000; key++) {
+                     Long value = map.get(key);
+                     if (value == null || value != key * 10) {
+                        throw new AssertionError("Key " + key + " read as " + value);
+                     }
+                     reads++;
+                  }
+               } while (writing.get());
+               return reads;
+            }));
+         }
+         Future<?> writer = executor.submit(() -> {
+            start.await();
+            // Grows the table several times and churns other keys meanwhile
+            for (long key = 1_001; key <= 200_000; key++) {
+               map.put(key, key);
+               if (key % 3 == 0) {
+                  map.remove(key - 1);
+               }
+            }
+            writing.set(false);
+            return null;
+         });
+
+         start.countDown();
+         writer.get(60, TimeUnit.SECONDS);
+         for (Future<Long> reader : readers) {
+            assertThat(reader.get(60, TimeUnit.SECONDS)).isPositive();
+         }
+      } finally {
+         writing.set(false);
+         executor.shutdownNow();
+      }
+   }
+}
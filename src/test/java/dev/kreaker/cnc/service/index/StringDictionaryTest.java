@@ -0,0 +1,40 @@
+/* (c) 2026 Alejandro Lopez Monzon <alejandro@kreaker.dev> for Kreaker Developments */
+package dev.kreaker.cnc.service.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class StringDictionaryTest {
+
+   @Test
+   void assignsDenseIdsFromOne() {
+      StringDictionary dictionary = new StringDictionary();
+
+      assertThat(dictionary.add("a")).isEqualTo(1);
+      assertThat(dictionary.add("b")).isEqualTo(2);
+      assertThat(dictionary.add("a")).isEqualTo(1);
+      assertThat(dictionary.size()).isEqualTo(2);
+   }
+
+   @Test
+   void findNeverAssigns() {
+      StringDictionary dictionary = new StringDictionary();
+      dictionary.add("a");
+
+      assertThat(dictionary.find("a")).isEqualTo(1);
+      assertThat(dictionary.find("b")).isEqualTo(StringDictionary.ABSENT);
+      assertThat(dictionary.size()).isEqualTo(1);
+      assertThat(dictionary.add("b")).isEqualTo(2);
+   }
+
+   @Test
+   void nullHasItsOwnId() {
+      StringDictionary dictionary = new StringDictionary();
+
+      assertThat(dictionary.add(null)).isEqualTo(StringDictionary.NULL_ID);
+      assertThat(dictionary.find(null)).isEqualTo(StringDictionary.NULL_ID);
+      assertThat(dictionary.find("")).isEqualTo(StringDictionary.ABSENT);
+      assertThat(dictionary.size()).isZero();
+   }
+}
@@ -0,0 +1,170 @@
+/* (c) 2026 Alejandro Lopez Monzon <alejandro@kreaker.dev> for Kreaker Developments */
+package dev.kreaker.cnc.service.index;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+
+class TrigramIndexTest {
+
+   @Test
+   void findsDocumentsContainingEveryTrigram() {
+      TrigramIndex index = new TrigramIndex(16);
+      index.add(1, "red shirt");
+      index.add(2, "blue shirt");
+      index.add(3, "red shoes");
+
+      assertThat(index.candidates("shirt")).containsExactly(1, 2);
+      assertThat(index.candidates("red")).containsExactly(1, 3);
+      assertThat(index.candidates("red sh")).containsExactly(1, 3);
+      assertThat(index.candidates("green")).isEmpty();
+   }
+
+   @Test
+   void shortTermsAreNotAnswered() {
+      TrigramIndex index = new TrigramIndex(16);
+      index.add(1, "red");
+
+      assertThat(index.candidates("re")).isNull();
+      assertThat(index.candidates("")).isNull();
+   }
+
+   @Test
+   void fieldSeparatorsNeverFormTrigrams() {
+      TrigramIndex index = new TrigramIndex(16);
+      index.add(1, "ab\u0000cd");
+
+      assertThat(index.candidates("abc")).isEmpty();
+      assertThat(index.candidates("b\u0000c")).isNull();
+      assertThat(index.size()).isZero();
+   }
+
+   @Test
+   void repeatedTrigramsPostTheDocumentOnce() {
+      TrigramIndex index = new TrigramIndex(16);
+      index.add(1, "aaaaaa");
+      index.add(2, "aaa");
+
+      assertThat(index.candidates("aaa")).containsExactly(1, 2);
+      assertThat(index.size()).isEqualTo(1);
+   }
+
+   @Test
+   void removedDocumentsLeaveTheirPostings() {
+      TrigramIndex index = new TrigramIndex(16);
+      index.add(1, "alpha");
+      index.add(2, "alphabet");
+      index.add(3, "beta");
+
+      index.remove(2, "alphabet");
+
+      assertThat(index.candidates("alpha")).containsExactly(1);
+      assertThat(index.candidates("bet")).containsExactly(3);
+      // "hab" and "abe" only came from document 2
+      assertThat(index.candidates("habe")).isEmpty();
+      assertThat(index.size()).isEqualTo(5);
+
+      index.remove(1, "alpha");
+      index.remove(3, "beta");
+      assertThat(index.size()).isZero();
+   }
+
+   @Test
+   void removingAnUnknownDocumentChangesNothing() {
+      TrigramIndex index = new TrigramIndex(16);
+      index.add(1, "alpha");
+
+      index.remove(9, "alpha");
+
+      assertThat(index.candidates("alpha")).containsExactly(1);
+   }
+
+   @Test
+   void replacedDocumentsAreFoundUnderTheirNewId() {
+      // The snapshot re-adds a changed row under a new, higher doc id
+      TrigramIndex index = new TrigramIndex(16);
+      index.add(1, "old text");
+      index.add(2, "other");
+      index.remove(1, "old text");
+      index.add(3, "new text");
+
+      assertThat(index.candidates("text")).containsExactly(3);
+      assertThat(index.candidates("old")).isEmpty();
+   }
+
+   @Test
+   void intersectionStaysSortedOverManyDocuments() {
+      TrigramIndex index = new TrigramIndex(1024);
+      List<Integer> expected = new ArrayList<>();
+      for (int doc = 0; doc < 5_000; doc++) {
+         boolean match = doc % 7 == 0;
+         index.add(doc, (match ? "catalog item " : "catalog row ") + doc);
+         if (match) {
+            expected.add(doc);
+         }
+      }
+
+      assertThat(index.candidates("g item")).containsExactlyElementsOf(expected);
+   }
+
+   @Test
+   void readersSeeExistingDocumentsWhileAWriterAdds() throws Exception {
+      TrigramIndex index = new TrigramIndex(16);
+      for (int doc = 0; doc < 100; doc++) {
+         index.add(doc, "stable " + doc);
+      }
+
+      AtomicBoolean writing = new AtomicBoolean(true);
+      CountDownLatch start = new CountDownLatch(1);
+      ExecutorService executor = Executors.newFixedThreadPool(3);
+      try {
+         List<Future<Integer>> readers = new ArrayList<>();
+         for (int r = 0; r < 2; r++) {
+            readers.add(executor.submit(() -> {
+               start.await();
+               int reads = 0;
+               do {
+                  int[] found = index.candidates("stable");
+                  if (found == null || found.length != 100 || found[0] != 0
+                           || found[99] != 99) {
+                     throw new AssertionError("Stable documents read as "
+                              + (found == null ? null : found.length + " ids"));
+                  }
+                  reads++;
+               } while (writing.get());
+               return reads;
+            }));
+         }
+         Future<?> writer = executor.submit(() -> {
+            start.await();
+            // New grams and appends to shared posting arrays, then removals that copy them
+            for (int doc = 100; doc < 50_000; doc++) {
+               index.add(doc, "churn " + doc);
+               if (doc % 2 == 0) {
+                  index.remove(doc - 1, "churn " + (doc - 1));
+               }
+            }
+            writing.set(false);
+            return null;
+         });
+
+         start.countDown();
+         writer.get(60, TimeUnit.SECONDS);
+         for (Future<Integer> reader : readers) {
+            assertThat(reader.get(60, TimeUnit.SECONDS)).isPositive();
+         }
+      } finally {
+         writing.set(false);
+         executor.shutdownNow();
+      }
+   }
+}